@@ -0,0 +1,44 @@
+-- =============================================================================
+-- Moves reservations.id from an IDENTITY column to the pooled reservations_seq
+-- sequence used by the Reservation entity (allocation size 50).
+--
+-- Databases created before the switch keep the IDENTITY column under
+-- quarkus.hibernate-orm.database.generation=update, so inserts with sequence ids
+-- fail until this script has run. Stop the application first. The script is
+-- idempotent and does nothing on databases created with the sequence.
+-- =============================================================================
+SET XACT_ABORT ON;
+
+IF OBJECT_ID(N'dbo.reservations', N'U') IS NOT NULL
+    AND COLUMNPROPERTY(OBJECT_ID(N'dbo.reservations'), N'id', N'IsIdentity') = 1
+BEGIN
+    BEGIN TRANSACTION;
+
+    -- Hibernate's pooled optimizer uses the 50 ids up to each value it reads, so the
+    -- first value must be at least max(id) + 50 for the first block to be unused
+    DECLARE @start BIGINT = (SELECT ISNULL(MAX(id), 0) + 50 FROM dbo.reservations WITH (TABLOCKX, HOLDLOCK));
+    DECLARE @sql NVARCHAR(MAX);
+
+    -- Hibernate already created the sequence, starting at 1, if the application ran before this script
+    SET @sql = CASE WHEN OBJECT_ID(N'dbo.reservations_seq', N'SO') IS NULL
+                    THEN N'CREATE SEQUENCE dbo.reservations_seq START'
+                    ELSE N'ALTER SEQUENCE dbo.reservations_seq RESTART' END
+               + N' WITH ' + CAST(@start AS NVARCHAR(20)) + N' INCREMENT BY 50';
+    EXEC sp_executesql @sql;
+
+    -- The IDENTITY property cannot be dropped in place: move the ids to a plain column
+    DECLARE @pk SYSNAME = (SELECT name FROM sys.key_constraints
+                           WHERE parent_object_id = OBJECT_ID(N'dbo.reservations') AND type = N'PK');
+    SET @sql = N'ALTER TABLE dbo.reservations DROP CONSTRAINT ' + QUOTENAME(@pk);
+    EXEC sp_executesql @sql;
+    EXEC sp_executesql N'ALTER TABLE dbo.reservations ADD id_new BIGINT NULL';
+    EXEC sp_executesql N'UPDATE dbo.reservations SET id_new = id';
+    EXEC sp_executesql N'ALTER TABLE dbo.reservations DROP COLUMN id';
+    EXEC sp_rename N'dbo.reservations.id_new', N'id', N'COLUMN';
+    EXEC sp_executesql N'ALTER TABLE dbo.reservations ALTER COLUMN id BIGINT NOT NULL';
+    SET @sql = N'ALTER TABLE dbo.reservations ADD CONSTRAINT ' + QUOTENAME(@pk) + N' PRIMARY KEY (id)';
+    EXEC sp_executesql @sql;
+
+    COMMIT TRANSACTION;
+    PRINT 'Migrated reservations.id to reservations_seq starting at ' + CAST(@start AS NVARCHAR(20));
+END
@@ -0,0 +1,21 @@
+package com.hotel.reservations.domain.dto;
+
+import com.hotel.reservations.domain.enums.RoomType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Free bookable rooms per room type for each night of {@code [from, to)};
+ * {@code freeRooms[i]} is the count for the night of {@code from + i}.
+ */
+public record AvailabilityCalendarDto(
+        Long hotelId,
+        LocalDate from,
+        LocalDate to,
+        List<RoomTypeAvailability> roomTypes
+) {
+
+    public record RoomTypeAvailability(RoomType roomType, int totalRooms, int[] freeRooms) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.hotel.reservations.domain.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Cheapest free rooms across several hotels. {@code hotelsSkipped} counts hotels
+ * that failed or did not answer before the search deadline and are missing from
+ * {@code rooms}.
+ */
+public record AvailabilitySearchDto(
+        LocalDate checkIn,
+        LocalDate checkOut,
+        int hotelsSearched,
+        int hotelsSkipped,
+        List<RoomDto> rooms
+) {
+}
@@ -0,0 +1,20 @@
+package com.hotel.reservations.domain.dto;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record CreateGroupReservationRequest(
+        @NotNull Long guestId,
+        @NotEmpty List<@NotNull Long> roomIds,
+        @NotNull @FutureOrPresent LocalDate checkInDate,
+        @NotNull @Future LocalDate checkOutDate,
+        @Min(1) int guestsPerRoom,
+        String specialRequests
+) {
+}
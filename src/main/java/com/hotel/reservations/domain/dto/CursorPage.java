@@ -0,0 +1,29 @@
+package com.hotel.reservations.domain.dto;
+
+import com.hotel.reservations.utils.Constants;
+import com.hotel.reservations.utils.CursorCodec;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, Constants.MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Builds a page from a keyset query that fetched up to {@code size + 1} rows ordered
+     * by id; the extra row only signals that a next page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, Long> idOf) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(items, CursorCodec.encode(idOf.apply(items.get(size - 1))));
+    }
+}
@@ -0,0 +1,18 @@
+package com.hotel.reservations.domain.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ExpiringReservation(
+        Long id,
+        String confirmationCode,
+        Long guestId,
+        String guestEmail,
+        Long roomId,
+        Long hotelId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        BigDecimal totalPrice,
+        Long version
+) {
+}
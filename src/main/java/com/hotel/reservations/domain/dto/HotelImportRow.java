@@ -0,0 +1,19 @@
+package com.hotel.reservations.domain.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+public record HotelImportRow(
+        @NotBlank String name,
+        @NotBlank String address,
+        @NotBlank String city,
+        @NotBlank String country,
+        @Min(1) @Max(5) Integer starRating,
+        String description,
+        Double latitude,
+        Double longitude,
+        String phoneNumber,
+        String email
+) {
+}
@@ -0,0 +1,16 @@
+package com.hotel.reservations.domain.dto;
+
+import java.util.List;
+
+public record ImportResult(
+        long rowsRead,
+        long imported,
+        long failed,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<RowError> errors
+) {
+
+    public record RowError(long line, String message) {
+    }
+}
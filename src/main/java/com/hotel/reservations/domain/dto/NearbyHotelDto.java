@@ -0,0 +1,8 @@
+package com.hotel.reservations.domain.dto;
+
+public record NearbyHotelDto(
+        HotelDto hotel,
+        double distanceKm,
+        Integer availableRooms
+) {
+}
@@ -0,0 +1,21 @@
+package com.hotel.reservations.domain.dto;
+
+import com.hotel.reservations.domain.enums.RoomType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record RoomImportRow(
+        @NotNull Long hotelId,
+        @NotBlank String roomNumber,
+        @NotNull RoomType roomType,
+        @NotNull @DecimalMin("0.0") BigDecimal pricePerNight,
+        @Min(1) Integer maxOccupancy,
+        String description,
+        Boolean isAvailable,
+        Integer floorNumber
+) {
+}
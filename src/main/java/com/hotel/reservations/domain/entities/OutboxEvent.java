@@ -0,0 +1,45 @@
+package com.hotel.reservations.domain.entities;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Event written in the same transaction as the change it describes and relayed to
+ * the configured sink after commit. Rows are deleted once delivered.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "ix_outbox_events_aggregate", columnList = "aggregate_id"))
+public class OutboxEvent extends PanacheEntityBase {
+
+    // Pooled sequence so events are inserted in the same JDBC batch as the reservation rows
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    public Long id;
+
+    @Column(name = "aggregate_type", nullable = false)
+    public String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    public Long aggregateId;
+
+    // Version of the aggregate the change committed with; orders the events of one aggregate
+    @Column(name = "aggregate_version")
+    public Long aggregateVersion;
+
+    @Column(name = "event_type", nullable = false)
+    public String eventType;
+
+    @Column(nullable = false, columnDefinition = "nvarchar(max)")
+    public String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    public LocalDateTime createdAt;
+
+    @PrePersist
+    public void prePersist() {
+        createdAt = LocalDateTime.now();
+    }
+}
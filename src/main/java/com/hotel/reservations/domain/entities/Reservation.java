@@ -4,6 +4,7 @@ import com.hotel.reservations.domain.enums.PaymentStatus;
 import com.hotel.reservations.domain.enums.ReservationStatus;
 import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -14,8 +15,11 @@ import java.util.UUID;
 @Table(name = "reservations")
 public class Reservation extends PanacheEntityBase {
 
+    // Pooled sequence so ids are assigned without an insert and inserts can be JDBC-batched;
+    // databases created with an IDENTITY column need docker/migrations/001-reservations-id-sequence.sql
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservations_seq")
+    @SequenceGenerator(name = "reservations_seq", sequenceName = "reservations_seq", allocationSize = 50)
     public Long id;
 
     @Column(name = "confirmation_code", nullable = false, unique = true)
@@ -58,6 +62,13 @@ public class Reservation extends PanacheEntityBase {
     @JoinColumn(name = "room_id", nullable = false)
     public Room room;
 
+    // Incremented on every update; orders the events of a reservation. The default fills
+    // existing rows when the column is added to an existing table
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    public Long version;
+
     @Column(name = "created_at", updatable = false)
     public LocalDateTime createdAt;
 
@@ -0,0 +1,13 @@
+package com.hotel.reservations.domain.enums;
+
+import com.hotel.reservations.utils.Constants;
+import jakarta.ws.rs.core.MediaType;
+
+public enum ImportFormat {
+    NDJSON,
+    CSV;
+
+    public static ImportFormat fromMediaType(MediaType mediaType) {
+        return mediaType != null && mediaType.isCompatible(MediaType.valueOf(Constants.MEDIA_TYPE_CSV)) ? CSV : NDJSON;
+    }
+}
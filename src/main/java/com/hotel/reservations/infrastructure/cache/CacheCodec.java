@@ -0,0 +1,26 @@
+package com.hotel.reservations.infrastructure.cache;
+
+/**
+ * Serialization format used by {@code CacheConfig} for object values stored in Redis.
+ * <p>
+ * Implementations are CDI beans selected by {@code hotel.cache.codec}. Every encoded
+ * value is prefixed with the codec {@link #id()}, so values written by another codec
+ * (for example during a rolling switch) are treated as cache misses instead of
+ * failing to decode.
+ */
+public interface CacheCodec {
+
+    /**
+     * Name used to select this codec in configuration.
+     */
+    String name();
+
+    /**
+     * Single-byte format marker written in front of every encoded value.
+     */
+    byte id();
+
+    byte[] encode(Object value) throws Exception;
+
+    <T> T decode(byte[] data, int offset, int length, Class<T> type) throws Exception;
+}
@@ -0,0 +1,45 @@
+package com.hotel.reservations.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Binary CBOR codec sharing the modules and settings of the application
+ * {@link ObjectMapper}, so cached entities and DTOs map exactly as they do in JSON.
+ */
+@ApplicationScoped
+public class CborCacheCodec implements CacheCodec {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private ObjectMapper cborMapper;
+
+    @PostConstruct
+    void init() {
+        cborMapper = objectMapper.copyWith(new CBORFactory());
+    }
+
+    @Override
+    public String name() {
+        return "cbor";
+    }
+
+    @Override
+    public byte id() {
+        return 2;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws Exception {
+        return cborMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, int offset, int length, Class<T> type) throws Exception {
+        return cborMapper.readValue(data, offset, length, type);
+    }
+}
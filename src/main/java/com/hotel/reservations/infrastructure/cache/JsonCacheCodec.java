@@ -0,0 +1,32 @@
+package com.hotel.reservations.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+@ApplicationScoped
+public class JsonCacheCodec implements CacheCodec {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Override
+    public String name() {
+        return "json";
+    }
+
+    @Override
+    public byte id() {
+        return 1;
+    }
+
+    @Override
+    public byte[] encode(Object value) throws Exception {
+        return objectMapper.writeValueAsBytes(value);
+    }
+
+    @Override
+    public <T> T decode(byte[] data, int offset, int length, Class<T> type) throws Exception {
+        return objectMapper.readValue(data, offset, length, type);
+    }
+}
@@ -1,22 +1,138 @@
 package com.hotel.reservations.infrastructure.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservations.infrastructure.cache.CacheCodec;
+import com.hotel.reservations.infrastructure.cache.NearCache;
+import com.hotel.reservations.infrastructure.cache.SingleFlight;
+import com.hotel.reservations.utils.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
 import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.redis.datasource.pubsub.PubSubCommands;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.mutiny.redis.client.Command;
+import io.vertx.mutiny.redis.client.Request;
+import io.vertx.mutiny.redis.client.Response;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
+/**
+ * Two-tier cache: a bounded in-JVM {@link NearCache} (L1) in front of Redis (L2).
+ * <p>
+ * Object reads are served from L1 without a network hop when possible. Objects are
+ * stored in Redis as {@code byte[]} encoded by the configured {@link CacheCodec}.
+ * L1 keeps immutable values (records, strings, numbers) as they are, so their hits
+ * need no deserialization either; any other value, such as an entity, is kept encoded
+ * and decoded on every hit, so each caller gets its own detached copy. Writes and
+ * deletes are broadcast over Redis pub/sub so every node drops its local copy of the key.
+ * <p>
+ * Collections of keys that must be invalidated together (such as list pages) live in
+ * a versioned namespace: their keys embed a generation counter kept in Redis and
+ * mirrored in the near cache. Bumping the counter orphans every key of the previous
+ * generation at once; those entries simply expire at their TTL.
+ * <p>
+ * Writers inside a transaction invalidate through {@link #deleteAllAfterCommit} and
+ * {@link #bumpNamespaceAfterCommit}: invalidating before commit would let a concurrent
+ * read reload the old rows and cache them again for a full TTL.
+ */
 @ApplicationScoped
 public class CacheConfig {
 
+    private static final Logger LOG = Logger.getLogger(CacheConfig.class);
+    private static final String INVALIDATION_CHANNEL = "cache:invalidations";
+    private static final char INVALIDATION_SEPARATOR = '|';
+    private static final String INVALIDATION_KEY_DELIMITER = "\n";
+    // Encoded entry layout: codec id (1 byte), soft expiry epoch millis (8), load time millis (4), value
+    private static final int HEADER_LENGTH = 1 + Long.BYTES + Integer.BYTES;
+    private static final Object PENDING_INVALIDATION = CacheConfig.class.getName() + ".pending";
+
     @Inject
     RedisDataSource redisDataSource;
 
     @Inject
-    ObjectMapper objectMapper;
+    @Any
+    Instance<CacheCodec> codecs;
+
+    @Inject
+    HotelConfig hotelConfig;
+
+    @Inject
+    SingleFlight singleFlight;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "hotel.cache.codec")
+    String codecName;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private NearCache nearCache;
+
+    private CacheCodec codec;
+
+    private PubSubCommands.RedisSubscriber invalidationSubscriber;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    // Lookup outcome counters per key prefix, registered once so reads only increment
+    private final Map<String, Counter> lookups = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        nearCache = new NearCache(hotelConfig.getNearCacheMaxEntries());
+        codec = codecs.stream()
+                .filter(c -> c.name().equals(codecName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown cache codec: " + codecName));
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        try {
+            invalidationSubscriber = redisDataSource.pubsub(String.class)
+                    .subscribe(INVALIDATION_CHANNEL, this::onInvalidation);
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to subscribe to cache invalidations, near cache limited to local writes");
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (invalidationSubscriber != null) {
+            invalidationSubscriber.unsubscribe();
+        }
+    }
 
     public void put(String key, String value, long ttlSeconds) {
+        nearCache.invalidate(key);
         redisDataSource.value(String.class).setex(key, ttlSeconds, value);
     }
 
@@ -26,29 +142,363 @@ public class CacheConfig {
     }
 
     public void delete(String key) {
+        nearCache.invalidate(key);
         redisDataSource.key().del(key);
+        publishInvalidation(key);
     }
 
-    public boolean exists(String key) {
-        return redisDataSource.key().exists(key);
+    /**
+     * Deletes several keys with a single Redis call and one invalidation broadcast.
+     */
+    public void deleteAll(Collection<String> keys) {
+        deleteAll(keys, List.of());
     }
 
-    public void putObject(String key, Object value, long ttlSeconds) {
+    /**
+     * Deletes several keys and runs {@code alongWith} in the same pipelined Redis call,
+     * together with the invalidation broadcast.
+     */
+    public void deleteAll(Collection<String> keys, List<Request> alongWith) {
+        if (keys.isEmpty() && alongWith.isEmpty()) {
+            return;
+        }
+        List<Request> pipeline = new ArrayList<>(alongWith.size() + 2);
+        if (!keys.isEmpty()) {
+            keys.forEach(nearCache::invalidate);
+            Request del = Request.cmd(Command.DEL);
+            keys.forEach(del::arg);
+            pipeline.add(del);
+            pipeline.add(Request.cmd(Command.PUBLISH).arg(INVALIDATION_CHANNEL)
+                    .arg(nodeId + INVALIDATION_SEPARATOR + String.join(INVALIDATION_KEY_DELIMITER, keys)));
+        }
+        pipeline.addAll(alongWith);
+        pipeline(pipeline);
+    }
+
+    /**
+     * Deletes {@code keys} once the current transaction commits, or immediately when
+     * there is none. The keys of a transaction are deleted together with one call.
+     */
+    public void deleteAllAfterCommit(Collection<String> keys) {
+        PendingInvalidation pending = pendingInvalidation();
+        if (pending == null) {
+            deleteAll(keys);
+            return;
+        }
+        pending.keys().addAll(keys);
+    }
+
+    /**
+     * Moves {@code namespace} to a new generation once the current transaction commits,
+     * or immediately when there is none.
+     */
+    public void bumpNamespaceAfterCommit(String namespace) {
+        PendingInvalidation pending = pendingInvalidation();
+        if (pending == null) {
+            bumpNamespace(namespace);
+            return;
+        }
+        pending.namespaces().add(namespace);
+    }
+
+    private PendingInvalidation pendingInvalidation() {
+        if (transactionRegistry.getTransactionKey() == null) {
+            return null;
+        }
+        PendingInvalidation pending = (PendingInvalidation) transactionRegistry.getResource(PENDING_INVALIDATION);
+        if (pending == null) {
+            PendingInvalidation created = new PendingInvalidation(new LinkedHashSet<>(), new LinkedHashSet<>());
+            transactionRegistry.putResource(PENDING_INVALIDATION, created);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        invalidate(created);
+                    }
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+
+    private void invalidate(PendingInvalidation pending) {
         try {
-            String json = objectMapper.writeValueAsString(value);
-            put(key, json, ttlSeconds);
+            pending.namespaces().forEach(this::bumpNamespace);
+            deleteAll(pending.keys());
         } catch (Exception e) {
-            throw new RuntimeException("Failed to serialize object to JSON", e);
+            LOG.warnf(e, "Failed to invalidate cache after commit: keys=%s, namespaces=%s, entries expire at their TTL",
+                    pending.keys(), pending.namespaces());
         }
     }
 
+    /**
+     * Sends {@code requests} to Redis as one pipelined batch and returns their responses in order.
+     */
+    public List<Response> pipeline(List<Request> requests) {
+        return redisDataSource.getReactive().getRedis().batchAndAwait(requests);
+    }
+
+    /**
+     * Returns {@code key} qualified with the current generation of {@code namespace}.
+     */
+    public String namespacedKey(String namespace, String key) {
+        return namespace + "v" + namespaceVersion(namespace) + ":" + key;
+    }
+
+    /**
+     * Moves {@code namespace} to a new generation, invalidating all of its keys on every node.
+     */
+    public void bumpNamespace(String namespace) {
+        String versionKey = Constants.CACHE_PREFIX_NAMESPACE_VERSION + namespace;
+        long version = redisDataSource.value(Long.class).incr(versionKey);
+        nearCache.put(versionKey, version, nearTtlMillis(Long.MAX_VALUE));
+        publishInvalidation(versionKey);
+    }
+
+    private long namespaceVersion(String namespace) {
+        String versionKey = Constants.CACHE_PREFIX_NAMESPACE_VERSION + namespace;
+        if (nearCache.get(versionKey) instanceof Long local) {
+            return local;
+        }
+        Long stored = redisDataSource.value(Long.class).get(versionKey);
+        long version = stored != null ? stored : 0;
+        nearCache.put(versionKey, version, nearTtlMillis(Long.MAX_VALUE));
+        return version;
+    }
+
+    /**
+     * Drops the near cache copy of {@code key} on this node only.
+     */
+    public void invalidateLocal(String key) {
+        nearCache.invalidate(key);
+    }
+
+    public boolean exists(String key) {
+        return redisDataSource.key().exists(key);
+    }
+
+    public void putObject(String key, Object value, long ttlSeconds) {
+        writeEntry(key, value, ttlSeconds, 0);
+    }
+
     public <T> Optional<T> getObject(String key, Class<T> type) {
-        return get(key).map(json -> {
+        CachedValue entry = readEntry(key, type);
+        return entry == null ? Optional.empty() : Optional.of(type.cast(entry.value()));
+    }
+
+    /**
+     * Returns the cached value for {@code key}, or runs {@code loader} and caches its
+     * result for {@code ttlSeconds}. Concurrent misses on the same key share a single
+     * loader invocation; unless the value is immutable, the callers that waited for it
+     * decode their own copy from the written entry instead of sharing the loader's.
+     * <p>
+     * For keys under a refresh-ahead prefix ({@link Constants#CACHE_REFRESH_AHEAD_PREFIXES})
+     * entries outlive their TTL by a stale grace period. Past the TTL, or randomly
+     * shortly before it (XFetch, weighted by how long the value took to load), the
+     * cached value is returned immediately and reloaded in the background.
+     */
+    public <T> T getOrLoad(String key, Class<T> type, long ttlSeconds, Supplier<T> loader) {
+        CachedValue cached = readEntry(key, type);
+        if (cached != null) {
+            if (isRefreshAhead(key) && shouldRefresh(cached)) {
+                refreshInBackground(key, ttlSeconds, loader);
+            }
+            return type.cast(cached.value());
+        }
+        AtomicBoolean led = new AtomicBoolean();
+        T value = singleFlight.execute(key, () -> {
+            led.set(true);
+            // Another caller may have filled the key while this one was waiting to load
+            CachedValue filled = readEntry(key, type);
+            if (filled != null) {
+                return type.cast(filled.value());
+            }
+            return load(key, ttlSeconds, loader);
+        });
+        if (led.get() || isShareable(value)) {
+            return value;
+        }
+        // The leader's entity belongs to its session; decode a copy of its own from the entry it wrote
+        CachedValue own = readEntry(key, type);
+        return own != null ? type.cast(own.value()) : loader.get();
+    }
+
+    private <T> T load(String key, long ttlSeconds, Supplier<T> loader) {
+        long start = System.currentTimeMillis();
+        T value = loader.get();
+        writeEntry(key, value, ttlSeconds, (int) Math.min(Integer.MAX_VALUE, System.currentTimeMillis() - start));
+        return value;
+    }
+
+    private void refreshInBackground(String key, long ttlSeconds, Supplier<?> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        Infrastructure.getDefaultWorkerPool().execute(() -> {
+            ManagedContext requestContext = Arc.container().requestContext();
+            requestContext.activate();
             try {
-                return objectMapper.readValue(json, type);
+                singleFlight.execute(key, () -> load(key, ttlSeconds, loader));
             } catch (Exception e) {
-                throw new RuntimeException("Failed to deserialize JSON to object", e);
+                LOG.warnf(e, "Background refresh failed for key: %s, serving stale value", key);
+            } finally {
+                requestContext.terminate();
+                refreshing.remove(key);
             }
         });
     }
+
+    private static boolean shouldRefresh(CachedValue entry) {
+        double earlyMillis = entry.loadMillis() * Constants.CACHE_EARLY_REFRESH_BETA
+                * -Math.log(ThreadLocalRandom.current().nextDouble(Double.MIN_VALUE, 1.0));
+        return System.currentTimeMillis() + earlyMillis >= entry.softExpiresAtMillis();
+    }
+
+    private static boolean isRefreshAhead(String key) {
+        for (String prefix : Constants.CACHE_REFRESH_AHEAD_PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeEntry(String key, Object value, long ttlSeconds, int loadMillis) {
+        long softExpiresAtMillis = System.currentTimeMillis() + ttlSeconds * 1000;
+        long hardTtlSeconds = isRefreshAhead(key)
+                ? ttlSeconds + (long) Math.ceil(ttlSeconds * Constants.CACHE_STALE_GRACE_RATIO)
+                : ttlSeconds;
+
+        byte[] payload = encodeEntry(codec, value, softExpiresAtMillis, loadMillis);
+        // Other nodes may hold a near copy of the value being replaced
+        pipeline(List.of(
+                Request.cmd(Command.SETEX).arg(key).arg(hardTtlSeconds).arg(payload),
+                Request.cmd(Command.PUBLISH).arg(INVALIDATION_CHANNEL).arg(nodeId + INVALIDATION_SEPARATOR + key)));
+        Object local = isShareable(value) ? new CachedValue(value, softExpiresAtMillis, loadMillis) : payload;
+        nearCache.put(key, local, nearTtlMillis(hardTtlSeconds));
+    }
+
+    private CachedValue readEntry(String key, Class<?> type) {
+        Object local = nearCache.get(key);
+        if (local instanceof CachedValue shared && type.isInstance(shared.value())) {
+            countLookup(key, "hit-near");
+            return shared;
+        }
+        if (local instanceof byte[] encoded) {
+            countLookup(key, "hit-near");
+            return decodeEntry(codec, encoded, type);
+        }
+
+        byte[] payload = redisDataSource.value(byte[].class).get(key);
+        if (!isEncodedBy(codec, payload)) {
+            countLookup(key, "miss");
+            return null;
+        }
+        countLookup(key, "hit-redis");
+
+        CachedValue entry = decodeEntry(codec, payload, type);
+        // The remaining Redis TTL is unknown here; the soft expiry is never later than it
+        long ttlMillis = Math.min(entry.softExpiresAtMillis() - System.currentTimeMillis(),
+                nearTtlMillis(Long.MAX_VALUE));
+        nearCache.put(key, isShareable(entry.value()) ? entry : payload, ttlMillis);
+        return entry;
+    }
+
+    /**
+     * Frames {@code value} as stored in Redis: the codec id, the soft expiry and the load
+     * time, followed by the encoded value.
+     */
+    static byte[] encodeEntry(CacheCodec codec, Object value, long softExpiresAtMillis, int loadMillis) {
+        try {
+            byte[] encoded = codec.encode(value);
+            return ByteBuffer.allocate(HEADER_LENGTH + encoded.length)
+                    .put(codec.id())
+                    .putLong(softExpiresAtMillis)
+                    .putInt(loadMillis)
+                    .put(encoded)
+                    .array();
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to encode object with cache codec " + codec.name(), e);
+        }
+    }
+
+    /**
+     * Returns true if {@code payload} is a complete entry written by {@code codec}.
+     */
+    static boolean isEncodedBy(CacheCodec codec, byte[] payload) {
+        return payload != null && payload.length >= HEADER_LENGTH && payload[0] == codec.id();
+    }
+
+    static CachedValue decodeEntry(CacheCodec codec, byte[] payload, Class<?> type) {
+        try {
+            ByteBuffer header = ByteBuffer.wrap(payload, 1, HEADER_LENGTH - 1);
+            long softExpiresAtMillis = header.getLong();
+            int loadMillis = header.getInt();
+            Object value = codec.decode(payload, HEADER_LENGTH, payload.length - HEADER_LENGTH, type);
+            return new CachedValue(value, softExpiresAtMillis, loadMillis);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to decode object with cache codec " + codec.name(), e);
+        }
+    }
+
+    /**
+     * Returns true if {@code value} can be handed to every near cache reader as is.
+     * Mutable objects and entities, whose lazy associations belong to the session that
+     * loaded them, are shared only in encoded form.
+     */
+    private static boolean isShareable(Object value) {
+        return value instanceof Record || value instanceof String || value instanceof Number
+                || value instanceof Boolean;
+    }
+
+    private void countLookup(String key, String result) {
+        String prefix = metricPrefix(key);
+        lookups.computeIfAbsent(prefix + result, k -> Counter.builder("hotel.cache.lookups")
+                .description("Cache object lookups by key prefix and result")
+                .tag("prefix", prefix)
+                .tag("result", result)
+                .register(meterRegistry)).increment();
+    }
+
+    private static String metricPrefix(String key) {
+        for (String prefix : Constants.CACHE_METRIC_PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return prefix;
+            }
+        }
+        return "other";
+    }
+
+    private long nearTtlMillis(long ttlSeconds) {
+        return Math.min(ttlSeconds, hotelConfig.getNearCacheMaxTtlSeconds()) * 1000;
+    }
+
+    private void publishInvalidation(String key) {
+        try {
+            redisDataSource.pubsub(String.class).publish(INVALIDATION_CHANNEL, nodeId + INVALIDATION_SEPARATOR + key);
+        } catch (Exception e) {
+            LOG.warnf(e, "Failed to publish cache invalidation for key: %s", key);
+        }
+    }
+
+    record CachedValue(Object value, long softExpiresAtMillis, int loadMillis) {
+    }
+
+    private record PendingInvalidation(Set<String> keys, Set<String> namespaces) {
+    }
+
+    private void onInvalidation(String message) {
+        int separator = message.indexOf(INVALIDATION_SEPARATOR);
+        if (separator < 0 || message.startsWith(nodeId)) {
+            return;
+        }
+        for (String key : message.substring(separator + 1).split(INVALIDATION_KEY_DELIMITER)) {
+            nearCache.invalidate(key);
+        }
+    }
 }
@@ -18,6 +18,12 @@ public class HotelConfig {
     @ConfigProperty(name = "hotel.cache.ttl-minutes")
     int cacheTtlMinutes;
 
+    @ConfigProperty(name = "hotel.cache.near.max-entries")
+    int nearCacheMaxEntries;
+
+    @ConfigProperty(name = "hotel.cache.near.max-ttl-seconds")
+    long nearCacheMaxTtlSeconds;
+
     @ConfigProperty(name = "hotel.weather.max-wind-speed-kmh")
     double maxWindSpeed;
 
@@ -27,6 +33,9 @@ public class HotelConfig {
     @ConfigProperty(name = "hotel.weather.max-temperature-celsius")
     double maxTemperature;
 
+    @ConfigProperty(name = "hotel.geo.max-radius-km")
+    double geoMaxRadiusKm;
+
     public int getMaxReservationDays() {
         return maxReservationDays;
     }
@@ -43,6 +52,14 @@ public class HotelConfig {
         return cacheTtlMinutes;
     }
 
+    public int getNearCacheMaxEntries() {
+        return nearCacheMaxEntries;
+    }
+
+    public long getNearCacheMaxTtlSeconds() {
+        return nearCacheMaxTtlSeconds;
+    }
+
     public double getMaxWindSpeed() {
         return maxWindSpeed;
     }
@@ -54,4 +71,8 @@ public class HotelConfig {
     public double getMaxTemperature() {
         return maxTemperature;
     }
+
+    public double getGeoMaxRadiusKm() {
+        return geoMaxRadiusKm;
+    }
 }
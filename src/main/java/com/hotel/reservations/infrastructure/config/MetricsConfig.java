@@ -0,0 +1,64 @@
+package com.hotel.reservations.infrastructure.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import jakarta.enterprise.inject.Produces;
+import jakarta.inject.Singleton;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Histogram settings for the application's latency timers and inbound HTTP requests.
+ * <p>
+ * Matching timers publish percentile histograms, so p99 can be aggregated across
+ * nodes in Prometheus. They also publish buckets at the {@code hotel.metrics.slo}
+ * boundaries, so SLO compliance is an exact bucket ratio rather than an interpolation.
+ * The expected range bounds the number of buckets each timer exports.
+ */
+@Singleton
+public class MetricsConfig {
+
+    private static final List<String> HISTOGRAM_PREFIXES = List.of("hotel.", "reservation.", "http.server.requests");
+
+    @ConfigProperty(name = "hotel.metrics.slo")
+    List<Duration> slos;
+
+    @ConfigProperty(name = "hotel.metrics.min-expected")
+    Duration minExpected;
+
+    @ConfigProperty(name = "hotel.metrics.max-expected")
+    Duration maxExpected;
+
+    @Produces
+    @Singleton
+    public MeterFilter latencyHistograms() {
+        double[] sloNanos = slos.stream().mapToDouble(Duration::toNanos).toArray();
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() != Meter.Type.TIMER || !hasHistogram(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .serviceLevelObjectives(sloNanos)
+                        .minimumExpectedValue((double) minExpected.toNanos())
+                        .maximumExpectedValue((double) maxExpected.toNanos())
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    private static boolean hasHistogram(String name) {
+        for (String prefix : HISTOGRAM_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
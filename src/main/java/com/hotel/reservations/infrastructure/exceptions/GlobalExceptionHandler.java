@@ -31,7 +31,8 @@ public class GlobalExceptionHandler implements ExceptionMapper<HotelException> {
             return Response.Status.CONFLICT.getStatusCode();
         } else if (exception instanceof WeatherCheckFailedException) {
             return Response.Status.SERVICE_UNAVAILABLE.getStatusCode();
-        } else if (exception instanceof InvalidDateRangeException) {
+        } else if (exception instanceof InvalidDateRangeException
+                || exception instanceof InvalidGroupBookingException) {
             return Response.Status.BAD_REQUEST.getStatusCode();
         }
         return Response.Status.INTERNAL_SERVER_ERROR.getStatusCode();
@@ -0,0 +1,8 @@
+package com.hotel.reservations.infrastructure.exceptions;
+
+public class InvalidGroupBookingException extends HotelException {
+
+    public InvalidGroupBookingException(String message) {
+        super("INVALID_GROUP_BOOKING", message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.hotel.reservations.infrastructure.metrics;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Times every intercepted business method of the annotated bean as
+ * {@code hotel.method.duration}, tagged with the layer, class, method and outcome.
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Instrumented {
+
+    /**
+     * Layer tag, e.g. {@code service} or {@code repository}.
+     */
+    String value() default "service";
+}
@@ -0,0 +1,58 @@
+package com.hotel.reservations.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Instrumented
+@Interceptor
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 10)
+public class InstrumentedInterceptor {
+
+    private static final String METRIC_NAME = "hotel.method.duration";
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    // Resolved once per method and outcome so the hot path skips the registry lookup
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @AroundInvoke
+    Object time(InvocationContext context) throws Exception {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return context.proceed();
+        } catch (Exception e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            timers.computeIfAbsent(new TimerKey(context.getMethod(), outcome), key -> register(context, key))
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer register(InvocationContext context, TimerKey key) {
+        Instrumented binding = context.getInterceptorBinding(Instrumented.class);
+        return Timer.builder(METRIC_NAME)
+                .description("Duration of service and repository calls")
+                .tag("layer", binding != null ? binding.value() : "service")
+                .tag("class", key.method().getDeclaringClass().getSimpleName())
+                .tag("method", key.method().getName())
+                .tag("outcome", key.outcome())
+                .register(meterRegistry);
+    }
+
+    private record TimerKey(Method method, String outcome) {
+    }
+}
@@ -17,8 +17,8 @@ public class ReservationMapper {
                 entity.getCheckOutDate(),
                 entity.getNumberOfGuests(),
                 entity.getTotalPrice(),
-                entity.getStatus().name(),
-                entity.getPaymentStatus().name(),
+                entity.getStatus(),
+                entity.getPaymentStatus(),
                 entity.getSpecialRequests(),
                 entity.isWeatherChecked(),
                 entity.getWeatherSummary(),
@@ -0,0 +1,56 @@
+package com.hotel.reservations.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservations.domain.entities.OutboxEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes relayed outbox events on the configured {@link ClusterEventBus}, so the
+ * other nodes learn about every committed reservation change: the event is durable
+ * from the commit on and is retried until the bus accepted it.
+ */
+@ApplicationScoped
+public class ClusterBusOutboxSink implements OutboxSink {
+
+    @Inject
+    @Any
+    Instance<ClusterEventBus> buses;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "hotel.cluster.bus")
+    String busName;
+
+    private ClusterEventBus bus;
+
+    @PostConstruct
+    void init() {
+        bus = buses.stream()
+                .filter(b -> b.name().equals(busName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown cluster event bus: " + busName));
+    }
+
+    @Override
+    public String name() {
+        return "cluster-bus";
+    }
+
+    @Override
+    public void send(List<OutboxEvent> events) throws Exception {
+        List<ReservationEvent> reservationEvents = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            reservationEvents.add(objectMapper.readValue(event.payload, ReservationEvent.class));
+        }
+        bus.publish(reservationEvents);
+    }
+}
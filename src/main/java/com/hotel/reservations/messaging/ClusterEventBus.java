@@ -0,0 +1,25 @@
+package com.hotel.reservations.messaging;
+
+import java.util.List;
+
+/**
+ * Carries committed reservation events to every node of the cluster, where they are
+ * handed to every {@link ClusterEventSubscriber}.
+ * <p>
+ * Events are published by the {@link OutboxRelay} through {@link ClusterBusOutboxSink},
+ * so an event committed to the outbox reaches the other nodes even if its node stops
+ * right after the commit. Implementations are CDI beans selected by
+ * {@code hotel.cluster.bus}; only the selected one publishes or consumes.
+ */
+public interface ClusterEventBus {
+
+    /**
+     * Name used to select this bus in configuration.
+     */
+    String name();
+
+    /**
+     * Publishes the events in order, or throws if any of them could not be published.
+     */
+    void publish(List<ReservationEvent> events) throws Exception;
+}
@@ -0,0 +1,11 @@
+package com.hotel.reservations.messaging;
+
+/**
+ * Node-local state (caches, in-memory indexes) kept current with reservation changes
+ * committed on other nodes. Events may be delivered more than once and must be applied
+ * idempotently.
+ */
+public interface ClusterEventSubscriber {
+
+    void onClusterEvent(ReservationEvent event);
+}
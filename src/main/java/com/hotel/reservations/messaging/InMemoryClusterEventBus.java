@@ -0,0 +1,43 @@
+package com.hotel.reservations.messaging;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+
+/**
+ * In-JVM stand-in for the cluster bus, for tests and single-node development. Published
+ * events are handed straight back to the local subscribers, as if another node had
+ * committed them, which exercises the subscribers without Redis.
+ */
+@ApplicationScoped
+public class InMemoryClusterEventBus implements ClusterEventBus {
+
+    private static final Logger LOG = Logger.getLogger(InMemoryClusterEventBus.class);
+
+    @Inject
+    @Any
+    Instance<ClusterEventSubscriber> subscribers;
+
+    @Override
+    public String name() {
+        return "in-memory";
+    }
+
+    @Override
+    public void publish(List<ReservationEvent> events) {
+        for (ReservationEvent event : events) {
+            for (ClusterEventSubscriber subscriber : subscribers) {
+                try {
+                    subscriber.onClusterEvent(event);
+                } catch (Exception e) {
+                    LOG.warnf(e, "Cluster event subscriber %s failed for reservation %d",
+                            subscriber.getClass().getSimpleName(), event.reservationId());
+                }
+            }
+        }
+    }
+}
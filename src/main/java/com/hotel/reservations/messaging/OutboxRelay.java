@@ -0,0 +1,128 @@
+package com.hotel.reservations.messaging;
+
+import com.hotel.reservations.domain.entities.OutboxEvent;
+import com.hotel.reservations.repository.OutboxRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.redis.datasource.value.SetArgs;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Drains the outbox table to the configured {@link OutboxSink}s.
+ * <p>
+ * Every {@code hotel.outbox.poll-interval} the relay takes a Redis lease so that a
+ * single node relays at a time, then sends the oldest events in batches of
+ * {@code hotel.outbox.batch-size} to each sink of {@code hotel.outbox.sinks} in turn and
+ * deletes each batch once every sink accepted it. A failed batch stays in the table and
+ * is retried from the same position on the next run, including for the sinks that
+ * already accepted it, so events are delivered at least once.
+ * <p>
+ * Events are relayed in outbox id order, which is not the order they were committed
+ * in (see {@link OutboxSink}); consumers order the events of a reservation by its
+ * version instead.
+ */
+@ApplicationScoped
+public class OutboxRelay {
+
+    private static final Logger LOG = Logger.getLogger(OutboxRelay.class);
+    private static final String LEASE_KEY = "outbox:relay:lease";
+
+    @Inject
+    OutboxRepository outboxRepository;
+
+    @Inject
+    RedisDataSource redisDataSource;
+
+    @Inject
+    @Any
+    Instance<OutboxSink> sinks;
+
+    @ConfigProperty(name = "hotel.outbox.sinks")
+    List<String> sinkNames;
+
+    @ConfigProperty(name = "hotel.outbox.batch-size")
+    int batchSize;
+
+    @ConfigProperty(name = "hotel.outbox.lease")
+    Duration lease;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private List<OutboxSink> selected;
+
+    @PostConstruct
+    void init() {
+        selected = sinkNames.stream()
+                .map(sinkName -> sinks.stream()
+                        .filter(s -> s.name().equals(sinkName))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException("Unknown outbox sink: " + sinkName)))
+                .toList();
+    }
+
+    @Scheduled(every = "{hotel.outbox.poll-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void relay() {
+        if (!acquireLease()) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + lease.toMillis() / 2;
+        int relayed = 0;
+        try {
+            while (System.currentTimeMillis() < deadline) {
+                List<OutboxEvent> batch = QuarkusTransaction.requiringNew()
+                        .call(() -> outboxRepository.findOldest(batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (OutboxSink sink : selected) {
+                    sink.send(batch);
+                }
+                List<Long> ids = batch.stream().map(event -> event.id).toList();
+                QuarkusTransaction.requiringNew().run(() -> outboxRepository.deleteByIds(ids));
+                relayed += batch.size();
+                if (batch.size() < batchSize) {
+                    break;
+                }
+                // Still draining a backlog: keep the lease for the next batch
+                renewLease();
+            }
+        } catch (Exception e) {
+            LOG.warnf(e, "Outbox relay to %s failed after %d events, retrying on next run", sinkNames, relayed);
+        }
+        if (relayed > 0) {
+            LOG.infof("Relayed %d outbox events to %s", relayed, sinkNames);
+        }
+    }
+
+    private boolean acquireLease() {
+        try {
+            String millis = String.valueOf(lease.toMillis());
+            if (redisDataSource.execute("SET", LEASE_KEY, nodeId, "NX", "PX", millis) != null) {
+                return true;
+            }
+            if (nodeId.equals(redisDataSource.value(String.class).get(LEASE_KEY))) {
+                renewLease();
+                return true;
+            }
+            return false;
+        } catch (Exception e) {
+            LOG.warnf(e, "Failed to acquire outbox relay lease");
+            return false;
+        }
+    }
+
+    private void renewLease() {
+        redisDataSource.value(String.class).set(LEASE_KEY, nodeId, new SetArgs().px(lease).xx());
+    }
+}
@@ -0,0 +1,29 @@
+package com.hotel.reservations.messaging;
+
+import com.hotel.reservations.domain.entities.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the events relayed from the outbox table.
+ * <p>
+ * Implementations are CDI beans selected by {@code hotel.outbox.sinks}. Events arrive in
+ * outbox id order; {@link #send(List)} must either deliver the whole batch in that order
+ * or throw, in which case the batch is sent again later. Delivery is therefore
+ * at-least-once and consumers must tolerate duplicates.
+ * <p>
+ * Outbox id order is not commit order, not even for one reservation: ids come from
+ * sequence blocks allocated per node, and a transaction holding a lower id can commit
+ * after higher ids were relayed. Sinks must pass {@link OutboxEvent#aggregateId} and
+ * {@link OutboxEvent#aggregateVersion} on, so that consumers can order the events of a
+ * reservation and drop those that are not newer than the last one they applied.
+ */
+public interface OutboxSink {
+
+    /**
+     * Name used to select this sink in configuration.
+     */
+    String name();
+
+    void send(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,184 @@
+package com.hotel.reservations.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.redis.datasource.RedisDataSource;
+import io.quarkus.redis.datasource.stream.StreamCommands;
+import io.quarkus.redis.datasource.stream.StreamMessage;
+import io.quarkus.redis.datasource.stream.XGroupCreateArgs;
+import io.quarkus.redis.datasource.stream.XReadGroupArgs;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.vertx.mutiny.redis.client.Command;
+import io.vertx.mutiny.redis.client.Request;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cluster bus on a Redis stream.
+ * <p>
+ * Every node reads the stream through its own consumer group, named after
+ * {@code hotel.cluster.node-name}, so each node sees every event. Entries are read in
+ * batches of {@code hotel.cluster.batch-size} and acknowledged once all subscribers
+ * have run. On startup the node first re-reads the entries it received but never
+ * acknowledged, then continues after the group's last delivered entry, so a restart
+ * resumes where the node stopped. A node also receives the events it committed itself,
+ * which its subscribers already applied locally; applying them again is a no-op.
+ * <p>
+ * The node name must be stable across restarts for replay to work; groups of
+ * decommissioned nodes have to be removed with {@code XGROUP DESTROY}.
+ */
+@ApplicationScoped
+public class RedisStreamClusterEventBus implements ClusterEventBus {
+
+    private static final Logger LOG = Logger.getLogger(RedisStreamClusterEventBus.class);
+    private static final String PENDING = "0";
+    private static final String NEW_ENTRIES = ">";
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    @Inject
+    RedisDataSource redisDataSource;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    @Any
+    Instance<ClusterEventSubscriber> subscribers;
+
+    @ConfigProperty(name = "hotel.cluster.bus")
+    String busName;
+
+    @ConfigProperty(name = "hotel.cluster.node-name")
+    String nodeName;
+
+    @ConfigProperty(name = "hotel.cluster.stream-key")
+    String streamKey;
+
+    @ConfigProperty(name = "hotel.cluster.stream-max-length")
+    long maxLength;
+
+    @ConfigProperty(name = "hotel.cluster.batch-size")
+    int batchSize;
+
+    @ConfigProperty(name = "hotel.cluster.block-timeout")
+    Duration blockTimeout;
+
+    private volatile boolean running;
+
+    private Thread consumer;
+
+    @Override
+    public String name() {
+        return "redis-stream";
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        if (!name().equals(busName)) {
+            return;
+        }
+        running = true;
+        consumer = new Thread(this::consume, "cluster-event-bus");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        running = false;
+        if (consumer != null) {
+            consumer.interrupt();
+        }
+    }
+
+    @Override
+    public void publish(List<ReservationEvent> events) throws Exception {
+        List<Request> appends = new ArrayList<>(events.size());
+        for (ReservationEvent event : events) {
+            appends.add(Request.cmd(Command.XADD).arg(streamKey)
+                    .arg("MAXLEN").arg("~").arg(maxLength)
+                    .arg("*")
+                    .arg("type").arg(event.eventType().name())
+                    .arg("payload").arg(objectMapper.writeValueAsString(event)));
+        }
+        // One round trip per relayed batch
+        redisDataSource.getReactive().getRedis().batchAndAwait(appends);
+    }
+
+    private void consume() {
+        String group = "node:" + nodeName;
+        String position = PENDING;
+        boolean groupReady = false;
+        while (running) {
+            try {
+                if (!groupReady) {
+                    createGroup(group);
+                    groupReady = true;
+                }
+                // The blocking read holds one pooled Redis connection for up to block-timeout
+                List<StreamMessage<String, String, String>> messages = streams().xreadgroup(group, nodeName,
+                        streamKey, position, new XReadGroupArgs().count(batchSize).block(blockTimeout));
+                if (messages.isEmpty()) {
+                    position = NEW_ENTRIES;
+                    continue;
+                }
+                messages.forEach(this::deliver);
+                streams().xack(streamKey, group, messages.stream().map(StreamMessage::id).toArray(String[]::new));
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                LOG.warnf(e, "Cluster event bus read failed, retrying in %s", RETRY_DELAY);
+                groupReady = false;
+                position = PENDING;
+                try {
+                    Thread.sleep(RETRY_DELAY.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void createGroup(String group) {
+        try {
+            // A new node starts from the current end; its state is loaded from the database
+            streams().xgroupCreate(streamKey, group, "$", new XGroupCreateArgs().mkstream());
+            LOG.infof("Created cluster event consumer group %s on %s", group, streamKey);
+        } catch (Exception e) {
+            if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    private void deliver(StreamMessage<String, String, String> message) {
+        ReservationEvent event;
+        try {
+            event = objectMapper.readValue(message.payload().get("payload"), ReservationEvent.class);
+        } catch (Exception e) {
+            LOG.warnf(e, "Skipping undecodable cluster event %s", message.id());
+            return;
+        }
+        for (ClusterEventSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onClusterEvent(event);
+            } catch (Exception e) {
+                LOG.warnf(e, "Cluster event subscriber %s failed for reservation %d",
+                        subscriber.getClass().getSimpleName(), event.reservationId());
+            }
+        }
+    }
+
+    private StreamCommands<String, String, String> streams() {
+        return redisDataSource.stream(String.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.hotel.reservations.messaging;
+
+import com.hotel.reservations.domain.entities.OutboxEvent;
+import io.quarkus.redis.datasource.RedisDataSource;
+import io.vertx.mutiny.redis.client.Command;
+import io.vertx.mutiny.redis.client.Request;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends outbox events to a Redis stream, one pipelined call per batch. Each entry
+ * carries the outbox id, so consumers can drop redelivered events, and the aggregate
+ * id and version, so they can order the events of each reservation.
+ */
+@ApplicationScoped
+public class RedisStreamOutboxSink implements OutboxSink {
+
+    @Inject
+    RedisDataSource redisDataSource;
+
+    @ConfigProperty(name = "hotel.outbox.redis-stream.key")
+    String streamKey;
+
+    @ConfigProperty(name = "hotel.outbox.redis-stream.max-length")
+    long maxLength;
+
+    @Override
+    public String name() {
+        return "redis-stream";
+    }
+
+    @Override
+    public void send(List<OutboxEvent> events) {
+        List<Request> appends = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            appends.add(Request.cmd(Command.XADD).arg(streamKey)
+                    .arg("MAXLEN").arg("~").arg(maxLength)
+                    .arg("*")
+                    .arg("outboxId").arg(event.id)
+                    .arg("aggregateType").arg(event.aggregateType)
+                    .arg("aggregateId").arg(event.aggregateId)
+                    .arg("aggregateVersion").arg(String.valueOf(event.aggregateVersion))
+                    .arg("eventType").arg(event.eventType)
+                    .arg("payload").arg(event.payload));
+        }
+        redisDataSource.getReactive().getRedis().batchAndAwait(appends);
+    }
+}
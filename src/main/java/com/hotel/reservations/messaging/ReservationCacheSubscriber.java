@@ -0,0 +1,24 @@
+package com.hotel.reservations.messaging;
+
+import com.hotel.reservations.infrastructure.config.CacheConfig;
+import com.hotel.reservations.utils.Constants;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Drops the near cache copies of a reservation's read model when another node changes it.
+ */
+@ApplicationScoped
+public class ReservationCacheSubscriber implements ClusterEventSubscriber {
+
+    @Inject
+    CacheConfig cacheConfig;
+
+    @Override
+    public void onClusterEvent(ReservationEvent event) {
+        cacheConfig.invalidateLocal(Constants.CACHE_PREFIX_RESERVATION + event.reservationId());
+        if (event.confirmationCode() != null) {
+            cacheConfig.invalidateLocal(Constants.CACHE_PREFIX_RESERVATION_CODE + event.confirmationCode());
+        }
+    }
+}
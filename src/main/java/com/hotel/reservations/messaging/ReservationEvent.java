@@ -4,6 +4,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+/**
+ * Change of a reservation. {@code version} is the reservation version the change
+ * committed with; it increases with every change of the reservation, so consumers can
+ * discard events that arrive after a newer one.
+ */
 public record ReservationEvent(
     EventType eventType,
     Long reservationId,
@@ -15,7 +20,8 @@ public record ReservationEvent(
     LocalDate checkOutDate,
     BigDecimal totalPrice,
     String status,
-    LocalDateTime timestamp
+    LocalDateTime timestamp,
+    Long version
 ) {
     public enum EventType {
         CREATED, CONFIRMED, CANCELLED, CHECKED_IN, CHECKED_OUT, UPDATED, EXPIRED
@@ -0,0 +1,184 @@
+package com.hotel.reservations.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers committed reservation events to every {@link ReservationEventListener}
+ * off the committing thread.
+ * <p>
+ * Events are picked up only after the transaction commits and are enqueued on one
+ * bounded queue per listener ({@code hotel.events.queue-capacity}), each drained by a
+ * dedicated thread. Enqueueing never runs listener code, so listeners add no latency
+ * to bookings unless a listener opts into {@link ReservationEventListener.OverflowPolicy#BLOCK}.
+ * Queue depth, delivery latency (commit to handled), drops and failures are exported
+ * per listener.
+ */
+@ApplicationScoped
+public class ReservationEventDispatcher {
+
+    private static final Logger LOG = Logger.getLogger(ReservationEventDispatcher.class);
+
+    @Inject
+    @Any
+    Instance<ReservationEventListener> listeners;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @Inject
+    Config config;
+
+    @ConfigProperty(name = "hotel.events.queue-capacity")
+    int queueCapacity;
+
+    @ConfigProperty(name = "hotel.events.overflow")
+    ReservationEventListener.OverflowPolicy defaultOverflow;
+
+    @ConfigProperty(name = "hotel.events.block-timeout")
+    Duration blockTimeout;
+
+    private final List<Channel> channels = new ArrayList<>();
+
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        running = true;
+        for (ReservationEventListener listener : listeners) {
+            ReservationEventListener.OverflowPolicy overflow = config.getOptionalValue(
+                            "hotel.events.listeners." + listener.name() + ".overflow",
+                            ReservationEventListener.OverflowPolicy.class)
+                    .orElse(defaultOverflow);
+            Channel channel = new Channel(listener, overflow, new ArrayBlockingQueue<>(queueCapacity));
+            channels.add(channel);
+
+            Thread worker = new Thread(() -> drain(channel), "reservation-events-" + listener.name());
+            worker.setDaemon(true);
+            channel.worker = worker;
+            worker.start();
+            LOG.infof("Reservation event listener registered: name=%s, overflow=%s", listener.name(), overflow);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        channels.forEach(channel -> channel.worker.interrupt());
+    }
+
+    void onReservationEvent(@Observes(during = TransactionPhase.AFTER_SUCCESS) ReservationEvent event) {
+        Envelope envelope = new Envelope(event, System.nanoTime());
+        for (Channel channel : channels) {
+            if (!channel.enqueue(envelope)) {
+                channel.dropped.increment();
+                LOG.debugf("Dropped reservation event for listener %s: type=%s, reservationId=%d",
+                        channel.listener.name(), event.eventType(), event.reservationId());
+            }
+        }
+    }
+
+    private void drain(Channel channel) {
+        while (running) {
+            Envelope envelope;
+            try {
+                envelope = channel.queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                channel.listener.onEvent(envelope.event());
+            } catch (Exception e) {
+                channel.failed.increment();
+                LOG.warnf(e, "Reservation event listener %s failed: type=%s, reservationId=%d",
+                        channel.listener.name(), envelope.event().eventType(), envelope.event().reservationId());
+            }
+            channel.latency.record(System.nanoTime() - envelope.enqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record Envelope(ReservationEvent event, long enqueuedAtNanos) {
+    }
+
+    private final class Channel {
+
+        private final ReservationEventListener listener;
+        private final ReservationEventListener.OverflowPolicy overflow;
+        private final BlockingQueue<Envelope> queue;
+        private final Timer latency;
+        private final Counter dropped;
+        private final Counter failed;
+        private Thread worker;
+
+        private Channel(ReservationEventListener listener, ReservationEventListener.OverflowPolicy overflow,
+                        BlockingQueue<Envelope> queue) {
+            this.listener = listener;
+            this.overflow = overflow;
+            this.queue = queue;
+            Gauge.builder("reservation.events.queue.depth", queue, BlockingQueue::size)
+                    .description("Reservation events waiting for a listener")
+                    .tag("listener", listener.name())
+                    .register(meterRegistry);
+            this.latency = Timer.builder("reservation.events.delivery")
+                    .description("Time from commit until a listener has handled a reservation event")
+                    .tag("listener", listener.name())
+                    .register(meterRegistry);
+            this.dropped = Counter.builder("reservation.events.dropped")
+                    .description("Reservation events dropped because a listener queue was full")
+                    .tag("listener", listener.name())
+                    .tag("policy", overflow.name())
+                    .register(meterRegistry);
+            this.failed = Counter.builder("reservation.events.failed")
+                    .description("Reservation events a listener failed to handle")
+                    .tag("listener", listener.name())
+                    .register(meterRegistry);
+        }
+
+        private boolean enqueue(Envelope envelope) {
+            if (queue.offer(envelope)) {
+                return true;
+            }
+            switch (overflow) {
+                case DROP_OLDEST -> {
+                    // Another producer may refill the freed slot; the event is then dropped instead
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                    return queue.offer(envelope);
+                }
+                case BLOCK -> {
+                    try {
+                        return queue.offer(envelope, blockTimeout.toNanos(), TimeUnit.NANOSECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+    }
+}
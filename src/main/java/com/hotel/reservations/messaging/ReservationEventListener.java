@@ -0,0 +1,29 @@
+package com.hotel.reservations.messaging;
+
+/**
+ * In-process consumer of committed reservation events, run asynchronously by
+ * {@link ReservationEventDispatcher}.
+ * <p>
+ * Implementations are CDI beans. Each listener has its own bounded queue and worker
+ * thread, so a slow listener only delays itself; events reach it in commit order.
+ * When its queue is full, the listener's {@link OverflowPolicy} applies, which is
+ * {@code hotel.events.listeners.<name>.overflow} or else {@code hotel.events.overflow}.
+ */
+public interface ReservationEventListener {
+
+    /**
+     * Name used in configuration and metric tags.
+     */
+    String name();
+
+    void onEvent(ReservationEvent event) throws Exception;
+
+    enum OverflowPolicy {
+        /** Discard the incoming event. */
+        DROP_NEWEST,
+        /** Discard the oldest queued event to make room. */
+        DROP_OLDEST,
+        /** Make the committing thread wait up to {@code hotel.events.block-timeout}, then drop the event. */
+        BLOCK
+    }
+}
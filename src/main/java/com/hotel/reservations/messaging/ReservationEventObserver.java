@@ -1,33 +1,27 @@
 package com.hotel.reservations.messaging;
 
 import jakarta.enterprise.context.ApplicationScoped;
-import jakarta.enterprise.event.Observes;
 import org.jboss.logging.Logger;
 
+/**
+ * Logs every committed reservation event. Runs on its own dispatcher thread; external
+ * integrations consume the outbox stream (see {@link OutboxRelay}) instead.
+ */
 @ApplicationScoped
-public class ReservationEventObserver {
+public class ReservationEventObserver implements ReservationEventListener {
 
     private static final Logger LOG = Logger.getLogger(ReservationEventObserver.class);
 
-    public void onReservationEvent(@Observes ReservationEvent event) {
-        LOG.infof("Received reservation event: type=%s, confirmationCode=%s, guestId=%d, checkIn=%s, checkOut=%s",
-                event.eventType(), event.confirmationCode(), event.guestId(),
-                event.checkInDate(), event.checkOutDate());
-
-        switch (event.eventType()) {
-            case CREATED -> LOG.infof("New reservation created: %s for guest %d, room %d",
-                    event.confirmationCode(), event.guestId(), event.roomId());
-            case CONFIRMED -> LOG.infof("Reservation confirmed: %s", event.confirmationCode());
-            case CANCELLED -> LOG.infof("Reservation cancelled: %s", event.confirmationCode());
-            case CHECKED_IN -> LOG.infof("Guest checked in: %s", event.confirmationCode());
-            case CHECKED_OUT -> LOG.infof("Guest checked out: %s", event.confirmationCode());
-            case UPDATED -> LOG.infof("Reservation updated: %s", event.confirmationCode());
-            case EXPIRED -> LOG.infof("Reservation expired: %s", event.confirmationCode());
-        }
+    @Override
+    public String name() {
+        return "audit-log";
+    }
 
-        // Placeholder for future integrations:
-        // - Email notifications
-        // - Analytics tracking
-        // - External system synchronization
+    @Override
+    public void onEvent(ReservationEvent event) {
+        LOG.infof("Reservation event: type=%s, confirmationCode=%s, reservationId=%d, guestId=%d, roomId=%d, "
+                        + "checkIn=%s, checkOut=%s, status=%s",
+                event.eventType(), event.confirmationCode(), event.reservationId(), event.guestId(),
+                event.roomId(), event.checkInDate(), event.checkOutDate(), event.status());
     }
 }
@@ -1,27 +1,69 @@
 package com.hotel.reservations.messaging;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservations.domain.entities.OutboxEvent;
+import com.hotel.reservations.repository.OutboxRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
 import org.jboss.logging.Logger;
 
+import java.util.List;
+
+/**
+ * Publishes reservation events as part of the caller's transaction.
+ * <p>
+ * Each event is written to the outbox table, inserted in the same JDBC batch as the
+ * reservation rows and relayed to external consumers by {@link OutboxRelay} after
+ * commit. It is also fired as a CDI event for in-process observers, which should
+ * observe {@code TransactionPhase.AFTER_SUCCESS} so they never see rolled back changes.
+ */
 @ApplicationScoped
 public class ReservationEventPublisher {
 
     private static final Logger LOG = Logger.getLogger(ReservationEventPublisher.class);
+    private static final String AGGREGATE_TYPE = "Reservation";
 
     @Inject
     Event<ReservationEvent> reservationEvent;
 
+    @Inject
+    OutboxRepository outboxRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Transactional(Transactional.TxType.MANDATORY)
     public void publish(ReservationEvent event) {
         LOG.infof("Publishing reservation event: type=%s, confirmationCode=%s, reservationId=%d",
                 event.eventType(), event.confirmationCode(), event.reservationId());
+        outboxRepository.persist(toOutboxEvent(event));
         reservationEvent.fire(event);
     }
 
-    public void publishAsync(ReservationEvent event) {
-        LOG.infof("Publishing async reservation event: type=%s, confirmationCode=%s, reservationId=%d",
-                event.eventType(), event.confirmationCode(), event.reservationId());
-        reservationEvent.fireAsync(event);
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void publishAll(List<ReservationEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        LOG.infof("Publishing %d reservation events: type=%s", events.size(), events.get(0).eventType());
+        outboxRepository.persist(events.stream().map(this::toOutboxEvent));
+        events.forEach(reservationEvent::fire);
+    }
+
+    private OutboxEvent toOutboxEvent(ReservationEvent event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.aggregateType = AGGREGATE_TYPE;
+        outboxEvent.aggregateId = event.reservationId();
+        outboxEvent.aggregateVersion = event.version();
+        outboxEvent.eventType = event.eventType().name();
+        try {
+            outboxEvent.payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize reservation event " + event.reservationId(), e);
+        }
+        return outboxEvent;
     }
 }
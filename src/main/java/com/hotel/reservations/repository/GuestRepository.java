@@ -1,13 +1,16 @@
 package com.hotel.reservations.repository;
 
 import com.hotel.reservations.domain.entities.Guest;
+import com.hotel.reservations.infrastructure.metrics.Instrumented;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
+@Instrumented("repository")
 public class GuestRepository implements PanacheRepository<Guest> {
 
     public Optional<Guest> findByEmail(String email) {
@@ -25,4 +28,13 @@ public class GuestRepository implements PanacheRepository<Guest> {
     public List<Guest> searchByName(String name) {
         return list("lower(firstName) like lower(?1) or lower(lastName) like lower(?1)", "%" + name + "%");
     }
+
+    public List<Guest> searchByName(String name, int limit) {
+        return find("lower(firstName) like lower(?1) or lower(lastName) like lower(?1)", "%" + name + "%")
+                .range(0, limit - 1).list();
+    }
+
+    public List<Guest> findByIds(Collection<Long> ids) {
+        return list("id in ?1", ids);
+    }
 }
@@ -1,18 +1,26 @@
 package com.hotel.reservations.repository;
 
 import com.hotel.reservations.domain.entities.Hotel;
+import com.hotel.reservations.infrastructure.metrics.Instrumented;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.util.Collection;
 import java.util.List;
 
 @ApplicationScoped
+@Instrumented("repository")
 public class HotelRepository implements PanacheRepository<Hotel> {
 
     public List<Hotel> findByCity(String city) {
         return list("city", city);
     }
 
+    public List<Long> findIdsByCity(String city) {
+        return find("select h.id from Hotel h where h.city = ?1", city).project(Long.class).list();
+    }
+
     public List<Hotel> findByCountry(String country) {
         return list("country", country);
     }
@@ -21,11 +29,34 @@ public class HotelRepository implements PanacheRepository<Hotel> {
         return list("lower(name) like lower(?1)", "%" + name + "%");
     }
 
+    public List<Hotel> findByNameContaining(String name, int limit) {
+        return find("lower(name) like lower(?1)", "%" + name + "%").range(0, limit - 1).list();
+    }
+
+    public List<Hotel> findInBoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+        return list("latitude between ?1 and ?2 and longitude between ?3 and ?4", minLat, maxLat, minLon, maxLon);
+    }
+
+    public List<Hotel> findByIds(Collection<Long> ids) {
+        return list("id in ?1", ids);
+    }
+
     public List<Hotel> findByStarRating(int rating) {
         return list("starRating", rating);
     }
 
+    public List<Long> findExistingIds(Collection<Long> ids) {
+        return find("select h.id from Hotel h where h.id in ?1", ids).project(Long.class).list();
+    }
+
     public List<Hotel> findAllPaged(int page, int size) {
         return findAll().page(page, size).list();
     }
+
+    /**
+     * Keyset page: up to {@code limit} hotels with an id greater than {@code afterId}, by id.
+     */
+    public List<Hotel> findAfter(long afterId, int limit) {
+        return find("id > ?1", Sort.by("id"), afterId).range(0, limit - 1).list();
+    }
 }
@@ -0,0 +1,26 @@
+package com.hotel.reservations.repository;
+
+import com.hotel.reservations.domain.entities.OutboxEvent;
+import com.hotel.reservations.infrastructure.metrics.Instrumented;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.Collection;
+import java.util.List;
+
+@ApplicationScoped
+@Instrumented("repository")
+public class OutboxRepository implements PanacheRepository<OutboxEvent> {
+
+    /**
+     * Returns the undelivered events with the lowest ids. Ids are allocated in blocks
+     * per node, so this is neither insertion nor commit order.
+     */
+    public List<OutboxEvent> findOldest(int limit) {
+        return find("order by id").page(0, limit).list();
+    }
+
+    public long deleteByIds(Collection<Long> ids) {
+        return delete("id in ?1", ids);
+    }
+}
@@ -1,21 +1,48 @@
 package com.hotel.reservations.repository;
 
+import com.hotel.reservations.domain.dto.ExpiringReservation;
 import com.hotel.reservations.domain.entities.Reservation;
 import com.hotel.reservations.domain.enums.ReservationStatus;
+import com.hotel.reservations.infrastructure.metrics.Instrumented;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @ApplicationScoped
+@Instrumented("repository")
 public class ReservationRepository implements PanacheRepository<Reservation> {
 
+    // Loads guest, room and hotel with the reservation so mapping to ReservationDto needs no extra selects
+    private static final String WITH_DETAILS =
+            "from Reservation r join fetch r.guest join fetch r.room rm join fetch rm.hotel ";
+
     public Optional<Reservation> findByConfirmationCode(String code) {
         return find("confirmationCode", code).firstResultOptional();
     }
 
+    public Optional<Reservation> findByIdWithDetails(Long id) {
+        return find(WITH_DETAILS + "where r.id = ?1", id).firstResultOptional();
+    }
+
+    public Optional<Long> findHotelIdByReservationId(Long id) {
+        return find("select r.room.hotel.id from Reservation r where r.id = ?1", id)
+                .project(Long.class).firstResultOptional();
+    }
+
+    public Optional<Reservation> findByConfirmationCodeWithDetails(String code) {
+        return find(WITH_DETAILS + "where r.confirmationCode = ?1", code).firstResultOptional();
+    }
+
     public List<Reservation> findByGuestId(Long guestId) {
         return list("guest.id", guestId);
     }
@@ -28,6 +55,15 @@ public class ReservationRepository implements PanacheRepository<Reservation> {
         return list("status", status);
     }
 
+    public List<Reservation> findByGuestIdWithDetails(Long guestId) {
+        return list(WITH_DETAILS + "where r.guest.id = ?1", guestId);
+    }
+
+    public List<Reservation> findByGuestIdWithDetailsAfter(Long guestId, long afterId, int limit) {
+        return find(WITH_DETAILS + "where r.guest.id = ?1 and r.id > ?2 order by r.id", guestId, afterId)
+                .range(0, limit - 1).list();
+    }
+
     public List<Reservation> findActiveByRoomId(Long roomId) {
         return list("room.id = ?1 and status in ('PENDING', 'CONFIRMED', 'CHECKED_IN')", roomId);
     }
@@ -37,6 +73,50 @@ public class ReservationRepository implements PanacheRepository<Reservation> {
                 + "and checkInDate < ?3 and checkOutDate > ?2", roomId, checkIn, checkOut);
     }
 
+    public List<Long> findBookedRoomIds(Collection<Long> roomIds, LocalDate checkIn, LocalDate checkOut) {
+        return find("select distinct r.room.id from Reservation r where r.room.id in ?1 "
+                + "and r.status not in ('CANCELLED', 'EXPIRED') "
+                + "and r.checkInDate < ?3 and r.checkOutDate > ?2", roomIds, checkIn, checkOut)
+                .project(Long.class).list();
+    }
+
+    public List<Reservation> findActiveStays(Collection<Long> roomIds, LocalDate from, LocalDate to) {
+        return list("room.id in ?1 and status not in ('CANCELLED', 'EXPIRED') "
+                + "and checkInDate < ?3 and checkOutDate > ?2", roomIds, from, to);
+    }
+
+    public Stream<Reservation> streamActiveStays(LocalDate fromDate) {
+        return stream("status not in ('CANCELLED', 'EXPIRED') and checkOutDate > ?1", fromDate);
+    }
+
+    /**
+     * Streams reservations with guest, room and hotel for export, ordered by id.
+     * Rows are fetched {@code fetchSize} at a time and loaded read-only, so the caller
+     * only needs to clear the session periodically to keep memory flat. Any filter
+     * may be null.
+     */
+    public Stream<Reservation> streamForExport(Long hotelId, LocalDate checkInFrom, LocalDate checkInTo, int fetchSize) {
+        StringBuilder query = new StringBuilder(WITH_DETAILS).append("where 1 = 1");
+        Parameters params = new Parameters();
+        if (hotelId != null) {
+            query.append(" and rm.hotel.id = :hotelId");
+            params.and("hotelId", hotelId);
+        }
+        if (checkInFrom != null) {
+            query.append(" and r.checkInDate >= :from");
+            params.and("from", checkInFrom);
+        }
+        if (checkInTo != null) {
+            query.append(" and r.checkInDate < :to");
+            params.and("to", checkInTo);
+        }
+        query.append(" order by r.id");
+        return find(query.toString(), params)
+                .withHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .withHint(HibernateHints.HINT_READ_ONLY, true)
+                .stream();
+    }
+
     public List<Reservation> findByCheckInDate(LocalDate date) {
         return list("checkInDate", date);
     }
@@ -45,6 +125,46 @@ public class ReservationRepository implements PanacheRepository<Reservation> {
         return list("status = 'PENDING' and checkInDate < ?1", beforeDate);
     }
 
+    /**
+     * Returns up to {@code limit} pending reservations checking in before {@code beforeDate}
+     * with an id greater than {@code afterId}, ordered by id, for keyset-paginated processing.
+     */
+    public List<ExpiringReservation> findExpiredPendingAfter(LocalDate beforeDate, long afterId, int limit) {
+        return getEntityManager().createQuery("select new com.hotel.reservations.domain.dto.ExpiringReservation("
+                        + "r.id, r.confirmationCode, g.id, g.email, rm.id, rm.hotel.id, "
+                        + "r.checkInDate, r.checkOutDate, r.totalPrice, r.version) "
+                        + "from Reservation r join r.guest g join r.room rm "
+                        + "where r.status = :status and r.checkInDate < :beforeDate and r.id > :afterId "
+                        + "order by r.id", ExpiringReservation.class)
+                .setParameter("status", ReservationStatus.PENDING)
+                .setParameter("beforeDate", beforeDate)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Marks the given reservations as expired in a single bulk update, skipping any
+     * that left the PENDING status since they were read.
+     */
+    public int expirePending(List<Long> ids, LocalDateTime expiredAt) {
+        return update("status = ?1, updatedAt = ?2, version = version + 1 where id in ?3 and status = ?4",
+                ReservationStatus.EXPIRED, expiredAt, ids, ReservationStatus.PENDING);
+    }
+
+    /**
+     * Returns the version of each of the given reservations that is now EXPIRED, by
+     * reservation id.
+     */
+    public Map<Long, Long> findExpiredVersions(List<Long> ids) {
+        return getEntityManager().createQuery("select r.id, r.version from Reservation r "
+                        + "where r.id in :ids and r.status = :status", Object[].class)
+                .setParameter("ids", ids)
+                .setParameter("status", ReservationStatus.EXPIRED)
+                .getResultStream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (Long) row[1]));
+    }
+
     public List<Reservation> findByGuestIdAndStatus(Long guestId, ReservationStatus status) {
         return list("guest.id = ?1 and status = ?2", guestId, status);
     }
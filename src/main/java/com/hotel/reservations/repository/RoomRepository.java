@@ -2,30 +2,64 @@ package com.hotel.reservations.repository;
 
 import com.hotel.reservations.domain.entities.Room;
 import com.hotel.reservations.domain.enums.RoomType;
+import com.hotel.reservations.infrastructure.metrics.Instrumented;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @ApplicationScoped
+@Instrumented("repository")
 public class RoomRepository implements PanacheRepository<Room> {
 
     public List<Room> findByHotelId(Long hotelId) {
         return list("hotel.id", hotelId);
     }
 
+    public Optional<Room> findByIdWithHotel(Long id) {
+        return find("from Room rm join fetch rm.hotel where rm.id = ?1", id).firstResultOptional();
+    }
+
+    public List<Room> findByIdsWithHotel(Collection<Long> ids) {
+        return list("from Room rm join fetch rm.hotel where rm.id in ?1", ids);
+    }
+
+    public List<Room> findByHotelIdWithHotel(Long hotelId) {
+        return list("from Room rm join fetch rm.hotel where rm.hotel.id = ?1", hotelId);
+    }
+
+    public List<Room> findByHotelIdWithHotelAfter(Long hotelId, long afterId, int limit) {
+        return find("from Room rm join fetch rm.hotel where rm.hotel.id = ?1 and rm.id > ?2 order by rm.id",
+                hotelId, afterId).range(0, limit - 1).list();
+    }
+
+    /**
+     * Locks the rooms until the end of the current transaction, so overlap checks and
+     * inserts for the same room are serialized across nodes. Rows are read in id order
+     * to keep transactions locking several rooms of a hotel from deadlocking.
+     */
+    public void lockForBooking(Collection<Long> ids) {
+        find("id in ?1 order by id", ids).withLock(LockModeType.PESSIMISTIC_WRITE).list();
+    }
+
     public List<Room> findAvailableByHotelId(Long hotelId) {
         return list("hotel.id = ?1 and isAvailable = true", hotelId);
     }
 
+    public List<Room> findAvailableByHotelIds(Collection<Long> hotelIds) {
+        return list("hotel.id in ?1 and isAvailable = true", hotelIds);
+    }
+
     public List<Room> findByRoomType(RoomType type) {
         return list("roomType", type);
     }
 
     public List<Room> findAvailableRooms(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
-        return list("hotel.id = ?1 and id not in ("
+        return list("from Room rm join fetch rm.hotel where rm.hotel.id = ?1 and rm.id not in ("
                 + "select r.room.id from Reservation r "
                 + "where r.room.hotel.id = ?1 "
                 + "and r.status not in ('CANCELLED', 'EXPIRED') "
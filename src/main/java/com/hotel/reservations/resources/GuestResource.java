@@ -47,9 +47,11 @@ public class GuestResource {
 
     @GET
     @Path("/search")
-    public ApiResponse<List<GuestDto>> searchByName(@QueryParam("name") String name) {
-        LOG.infof("Searching guests by name: %s", name);
-        var guests = guestService.searchByName(name);
+    public ApiResponse<List<GuestDto>> searchByName(
+            @QueryParam("name") String name,
+            @QueryParam("limit") @DefaultValue("10") int limit) {
+        LOG.infof("Searching guests by name: %s, limit: %d", name, limit);
+        var guests = guestService.searchByName(name, limit);
         return ApiResponse.success(guestMapper.toDtoList(guests), "Guests retrieved successfully");
     }
 
@@ -2,17 +2,26 @@ package com.hotel.reservations.resources;
 
 import com.hotel.reservations.domain.dto.ApiResponse;
 import com.hotel.reservations.domain.dto.HotelDto;
+import com.hotel.reservations.domain.dto.ImportResult;
+import com.hotel.reservations.domain.dto.NearbyHotelDto;
 import com.hotel.reservations.domain.entities.Hotel;
+import com.hotel.reservations.domain.enums.ImportFormat;
 import com.hotel.reservations.mappers.HotelMapper;
 import com.hotel.reservations.services.HotelService;
+import com.hotel.reservations.services.ImportService;
+import com.hotel.reservations.utils.Constants;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
 
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @Path("/api/v1/hotels")
@@ -29,13 +38,29 @@ public class HotelResource {
     @Inject
     HotelMapper hotelMapper;
 
+    @Inject
+    ImportService importService;
+
+    /**
+     * Lists hotels by id using cursor pagination: the {@code X-Next-Cursor} response
+     * header carries the {@code after} value for the next page and is absent on the
+     * last one. {@code page} selects the legacy offset pagination.
+     */
     @GET
-    public ApiResponse<List<HotelDto>> listHotels(
-            @QueryParam("page") @DefaultValue("0") int page,
+    public Response listHotels(
+            @QueryParam("page") Integer page,
+            @QueryParam("after") String after,
             @QueryParam("size") @DefaultValue("20") int size) {
-        LOG.infof("Listing hotels - page: %d, size: %d", page, size);
-        var hotels = hotelService.findAll(page, size);
-        return ApiResponse.success(hotelMapper.toDtoList(hotels), "Hotels retrieved successfully");
+        if (page != null && after == null) {
+            LOG.infof("Listing hotels - page: %d, size: %d", page, size);
+            var hotels = hotelService.findAll(page, size);
+            return Response.ok(ApiResponse.success(hotelMapper.toDtoList(hotels), "Hotels retrieved successfully")).build();
+        }
+        LOG.infof("Listing hotels - after: %s, size: %d", after, size);
+        var hotels = hotelService.findPage(after, size);
+        return Response.ok(ApiResponse.success(hotelMapper.toDtoList(hotels.items()), "Hotels retrieved successfully"))
+                .header(Constants.HEADER_NEXT_CURSOR, hotels.nextCursor())
+                .build();
     }
 
     @GET
@@ -56,12 +81,34 @@ public class HotelResource {
 
     @GET
     @Path("/search")
-    public ApiResponse<List<HotelDto>> searchByName(@QueryParam("name") String name) {
-        LOG.infof("Searching hotels by name: %s", name);
-        var hotels = hotelService.searchByName(name);
+    public ApiResponse<List<HotelDto>> searchByName(
+            @QueryParam("name") String name,
+            @QueryParam("limit") @DefaultValue("10") int limit) {
+        LOG.infof("Searching hotels by name: %s, limit: %d", name, limit);
+        var hotels = hotelService.searchByName(name, limit);
         return ApiResponse.success(hotelMapper.toDtoList(hotels), "Hotels retrieved successfully");
     }
 
+    @GET
+    @Path("/nearby")
+    public ApiResponse<List<NearbyHotelDto>> findNearby(
+            @QueryParam("lat") Double latitude,
+            @QueryParam("lon") Double longitude,
+            @QueryParam("radiusKm") @DefaultValue("10") double radiusKm,
+            @QueryParam("checkIn") String checkIn,
+            @QueryParam("checkOut") String checkOut,
+            @QueryParam("limit") @DefaultValue("20") int limit) {
+        LOG.infof("Finding hotels near lat: %s, lon: %s, radiusKm: %.1f, checkIn: %s, checkOut: %s",
+                latitude, longitude, radiusKm, checkIn, checkOut);
+        if (latitude == null || longitude == null) {
+            throw new BadRequestException("lat and lon are required");
+        }
+        var checkInDate = checkIn != null ? LocalDate.parse(checkIn) : null;
+        var checkOutDate = checkOut != null ? LocalDate.parse(checkOut) : null;
+        var hotels = hotelService.findNearby(latitude, longitude, radiusKm, checkInDate, checkOutDate, limit);
+        return ApiResponse.success(hotels, "Nearby hotels retrieved successfully");
+    }
+
     @POST
     public Response createHotel(@Valid Hotel hotel) {
         LOG.infof("Creating hotel: %s", hotel.getName());
@@ -86,4 +133,13 @@ public class HotelResource {
         hotelService.delete(id);
         return Response.noContent().build();
     }
+
+    @POST
+    @Path("/import")
+    @Consumes({Constants.MEDIA_TYPE_NDJSON, Constants.MEDIA_TYPE_CSV})
+    public ApiResponse<ImportResult> importHotels(@Context HttpHeaders headers, InputStream body) {
+        LOG.infof("Importing hotels from %s", headers.getMediaType());
+        var result = importService.importHotels(body, ImportFormat.fromMediaType(headers.getMediaType()));
+        return ApiResponse.success(result, "Hotels import completed");
+    }
 }
@@ -1,20 +1,27 @@
 package com.hotel.reservations.resources;
 
 import com.hotel.reservations.domain.dto.ApiResponse;
+import com.hotel.reservations.domain.dto.CreateGroupReservationRequest;
 import com.hotel.reservations.domain.dto.CreateReservationRequest;
 import com.hotel.reservations.domain.dto.ReservationDto;
 import com.hotel.reservations.domain.dto.UpdateReservationRequest;
 import com.hotel.reservations.mappers.ReservationMapper;
+import com.hotel.reservations.services.ReservationExportService;
 import com.hotel.reservations.services.ReservationService;
+import com.hotel.reservations.utils.Constants;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @Path("/api/v1/reservations")
 @Produces(MediaType.APPLICATION_JSON)
@@ -30,6 +37,9 @@ public class ReservationResource {
     @Inject
     ReservationMapper reservationMapper;
 
+    @Inject
+    ReservationExportService exportService;
+
     @POST
     public Response createReservation(@Valid CreateReservationRequest request) {
         LOG.info("Creating reservation");
@@ -39,28 +49,81 @@ public class ReservationResource {
                 .build();
     }
 
+    @POST
+    @Path("/group")
+    public Response createGroupReservation(@Valid CreateGroupReservationRequest request) {
+        LOG.infof("Creating group reservation for %d rooms", request.roomIds().size());
+        var reservations = reservationService.createGroupReservation(request);
+        return Response.status(Response.Status.CREATED)
+                .entity(ApiResponse.success(reservationMapper.toDtoList(reservations), "Group reservation created successfully"))
+                .build();
+    }
+
     @GET
     @Path("/{id}")
     public ApiResponse<ReservationDto> getReservation(@PathParam("id") Long id) {
         LOG.infof("Getting reservation with id: %d", id);
-        var reservation = reservationService.findById(id);
-        return ApiResponse.success(reservationMapper.toDto(reservation), "Reservation retrieved successfully");
+        return ApiResponse.success(reservationService.findDtoById(id), "Reservation retrieved successfully");
     }
 
     @GET
     @Path("/confirmation/{code}")
     public ApiResponse<ReservationDto> getByConfirmationCode(@PathParam("code") String code) {
         LOG.infof("Getting reservation by confirmation code: %s", code);
-        var reservation = reservationService.findByConfirmationCode(code);
-        return ApiResponse.success(reservationMapper.toDto(reservation), "Reservation retrieved successfully");
+        return ApiResponse.success(reservationService.findDtoByConfirmationCode(code), "Reservation retrieved successfully");
     }
 
+    /**
+     * Lists the reservations of a guest. Without {@code after} and {@code size} every
+     * reservation is returned, as before pagination; with either, one page ordered by id
+     * is returned and the {@code X-Next-Cursor} header carries the {@code after} value of the next.
+     */
     @GET
     @Path("/guest/{guestId}")
-    public ApiResponse<List<ReservationDto>> getByGuestId(@PathParam("guestId") Long guestId) {
-        LOG.infof("Getting reservations for guest: %d", guestId);
-        var reservations = reservationService.findByGuestId(guestId);
-        return ApiResponse.success(reservationMapper.toDtoList(reservations), "Reservations retrieved successfully");
+    public Response getByGuestId(
+            @PathParam("guestId") Long guestId,
+            @QueryParam("after") String after,
+            @QueryParam("size") Integer size) {
+        if (after == null && size == null) {
+            LOG.infof("Getting reservations for guest: %d", guestId);
+            var reservations = reservationService.findByGuestId(guestId);
+            return Response.ok(ApiResponse.success(reservationMapper.toDtoList(reservations),
+                    "Reservations retrieved successfully")).build();
+        }
+        int pageSize = size != null ? size : Constants.DEFAULT_PAGE_SIZE;
+        LOG.infof("Getting reservations for guest: %d, after: %s, size: %d", guestId, after, pageSize);
+        var reservations = reservationService.findByGuestId(guestId, after, pageSize);
+        return Response.ok(ApiResponse.success(reservationMapper.toDtoList(reservations.items()), "Reservations retrieved successfully"))
+                .header(Constants.HEADER_NEXT_CURSOR, reservations.nextCursor())
+                .build();
+    }
+
+    @GET
+    @Path("/export")
+    @Produces(Constants.MEDIA_TYPE_NDJSON)
+    public Response exportReservations(
+            @QueryParam("hotelId") Long hotelId,
+            @QueryParam("from") String from,
+            @QueryParam("to") String to,
+            @QueryParam("gzip") @DefaultValue("false") boolean gzip) {
+        LOG.infof("Exporting reservations - hotelId: %s, from: %s, to: %s, gzip: %b", hotelId, from, to, gzip);
+        var checkInFrom = from != null ? LocalDate.parse(from) : null;
+        var checkInTo = to != null ? LocalDate.parse(to) : null;
+
+        StreamingOutput body = output -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(output, 64 * 1024);
+                exportService.exportNdjson(hotelId, checkInFrom, checkInTo, compressed);
+                compressed.finish();
+            } else {
+                exportService.exportNdjson(hotelId, checkInFrom, checkInTo, output);
+            }
+        };
+        var response = Response.ok(body, Constants.MEDIA_TYPE_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.build();
     }
 
     @PUT
@@ -1,18 +1,27 @@
 package com.hotel.reservations.resources;
 
 import com.hotel.reservations.domain.dto.ApiResponse;
+import com.hotel.reservations.domain.dto.AvailabilityCalendarDto;
+import com.hotel.reservations.domain.dto.AvailabilitySearchDto;
+import com.hotel.reservations.domain.dto.ImportResult;
 import com.hotel.reservations.domain.dto.RoomDto;
 import com.hotel.reservations.domain.entities.Room;
+import com.hotel.reservations.domain.enums.ImportFormat;
 import com.hotel.reservations.mappers.RoomMapper;
+import com.hotel.reservations.services.ImportService;
 import com.hotel.reservations.services.RoomService;
+import com.hotel.reservations.utils.Constants;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.jboss.logging.Logger;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -30,12 +39,31 @@ public class RoomResource {
     @Inject
     RoomMapper roomMapper;
 
+    @Inject
+    ImportService importService;
+
+    /**
+     * Lists the rooms of a hotel. Without {@code after} and {@code size} every room is
+     * returned, as before pagination; with either, one page ordered by id is returned
+     * and the {@code X-Next-Cursor} header carries the {@code after} value of the next.
+     */
     @GET
     @Path("/hotel/{hotelId}")
-    public ApiResponse<List<RoomDto>> getRoomsByHotel(@PathParam("hotelId") Long hotelId) {
-        LOG.infof("Getting rooms for hotel: %d", hotelId);
-        var rooms = roomService.findByHotelId(hotelId);
-        return ApiResponse.success(roomMapper.toDtoList(rooms), "Rooms retrieved successfully");
+    public Response getRoomsByHotel(
+            @PathParam("hotelId") Long hotelId,
+            @QueryParam("after") String after,
+            @QueryParam("size") Integer size) {
+        if (after == null && size == null) {
+            LOG.infof("Getting rooms for hotel: %d", hotelId);
+            var rooms = roomService.findByHotelId(hotelId);
+            return Response.ok(ApiResponse.success(roomMapper.toDtoList(rooms), "Rooms retrieved successfully")).build();
+        }
+        int pageSize = size != null ? size : Constants.DEFAULT_PAGE_SIZE;
+        LOG.infof("Getting rooms for hotel: %d, after: %s, size: %d", hotelId, after, pageSize);
+        var rooms = roomService.findByHotelId(hotelId, after, pageSize);
+        return Response.ok(ApiResponse.success(roomMapper.toDtoList(rooms.items()), "Rooms retrieved successfully"))
+                .header(Constants.HEADER_NEXT_CURSOR, rooms.nextCursor())
+                .build();
     }
 
     @GET
@@ -51,6 +79,44 @@ public class RoomResource {
         return ApiResponse.success(roomMapper.toDtoList(rooms), "Available rooms retrieved successfully");
     }
 
+    /**
+     * Cheapest free rooms across all hotels of {@code city}, or across the given
+     * {@code hotelId}s, searched in parallel under a deadline.
+     */
+    @GET
+    @Path("/available")
+    public ApiResponse<AvailabilitySearchDto> searchAvailableRooms(
+            @QueryParam("city") String city,
+            @QueryParam("hotelId") List<Long> hotelIds,
+            @QueryParam("checkIn") String checkIn,
+            @QueryParam("checkOut") String checkOut,
+            @QueryParam("limit") @DefaultValue("50") int limit) {
+        LOG.infof("Searching available rooms in city: %s, hotels: %s, checkIn: %s, checkOut: %s",
+                city, hotelIds, checkIn, checkOut);
+        if (checkIn == null || checkOut == null) {
+            throw new BadRequestException("checkIn and checkOut are required");
+        }
+        var result = roomService.searchAvailability(city, hotelIds, LocalDate.parse(checkIn),
+                LocalDate.parse(checkOut), limit);
+        return ApiResponse.success(result, "Available rooms retrieved successfully");
+    }
+
+    /**
+     * Free rooms per room type for each night of a window, {@code days} nights from
+     * {@code from} (today by default).
+     */
+    @GET
+    @Path("/hotel/{hotelId}/calendar")
+    public ApiResponse<AvailabilityCalendarDto> getAvailabilityCalendar(
+            @PathParam("hotelId") Long hotelId,
+            @QueryParam("from") String from,
+            @QueryParam("days") @DefaultValue("90") int days) {
+        LOG.infof("Getting availability calendar for hotel: %d, from: %s, days: %d", hotelId, from, days);
+        var fromDate = from != null ? LocalDate.parse(from) : LocalDate.now();
+        var calendar = roomService.getAvailabilityCalendar(hotelId, fromDate, fromDate.plusDays(days));
+        return ApiResponse.success(calendar, "Availability calendar retrieved successfully");
+    }
+
     @GET
     @Path("/{id}")
     public ApiResponse<RoomDto> getRoom(@PathParam("id") Long id) {
@@ -85,4 +151,13 @@ public class RoomResource {
         var updated = roomService.updateAvailability(id, available);
         return ApiResponse.success(roomMapper.toDto(updated), "Room availability updated successfully");
     }
+
+    @POST
+    @Path("/import")
+    @Consumes({Constants.MEDIA_TYPE_NDJSON, Constants.MEDIA_TYPE_CSV})
+    public ApiResponse<ImportResult> importRooms(@Context HttpHeaders headers, InputStream body) {
+        LOG.infof("Importing rooms from %s", headers.getMediaType());
+        var result = importService.importRooms(body, ImportFormat.fromMediaType(headers.getMediaType()));
+        return ApiResponse.success(result, "Rooms import completed");
+    }
 }
@@ -0,0 +1,208 @@
+package com.hotel.reservations.services;
+
+import com.hotel.reservations.infrastructure.config.CacheConfig;
+import com.hotel.reservations.utils.Constants;
+import io.vertx.mutiny.redis.client.Command;
+import io.vertx.mutiny.redis.client.Request;
+import io.vertx.mutiny.redis.client.Response;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks which cached availability entries cover which hotel and date range, so a
+ * reservation or room change evicts exactly the overlapping entries.
+ * <p>
+ * Every {@code availability:{hotelId}:{checkIn}:{checkOut}} key is recorded in a Redis
+ * sorted set per hotel, scored by its check-out day. Changes are collected per
+ * transaction and evicted after commit: one pipelined call reads the candidate
+ * keys of every touched hotel, and a second deletes the overlapping ones, removes
+ * them from the index and broadcasts the near cache invalidation.
+ * <p>
+ * A load that read the database before an eviction may write its entry after the
+ * eviction ran. Each hotel therefore has a generation counter that every eviction
+ * increments before reading the index; a loader notes the generation when it
+ * registers and discards its own entry if the generation moved by the time the
+ * entry is written. Either the eviction finds the written entry, or the loader
+ * sees the new generation.
+ */
+@ApplicationScoped
+public class AvailabilityCacheIndex {
+
+    private static final Logger LOG = Logger.getLogger(AvailabilityCacheIndex.class);
+    private static final Object PENDING_EVICTIONS = AvailabilityCacheIndex.class.getName() + ".pending";
+
+    @Inject
+    CacheConfig cacheConfig;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    public static String cacheKey(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        return Constants.CACHE_PREFIX_AVAILABILITY + hotelId + ":" + checkIn + ":" + checkOut;
+    }
+
+    /**
+     * Records the availability entry of a hotel and stay and returns the hotel's current
+     * generation. Called before the entry is loaded, so an eviction racing with the load
+     * still finds the key; pass the result to {@link #discardIfEvicted} once it is written.
+     * Returns -1 if the key could not be indexed.
+     */
+    public long register(Long hotelId, LocalDate checkIn, LocalDate checkOut, long ttlSeconds) {
+        String index = indexKey(hotelId);
+        try {
+            List<Response> responses = cacheConfig.pipeline(List.of(
+                    Request.cmd(Command.GET).arg(generationKey(hotelId)),
+                    Request.cmd(Command.ZADD).arg(index).arg(checkOut.toEpochDay()).arg(cacheKey(hotelId, checkIn, checkOut)),
+                    // Stays that are over can no longer be affected by a booking
+                    Request.cmd(Command.ZREMRANGEBYSCORE).arg(index).arg("-inf").arg(LocalDate.now().toEpochDay()),
+                    // Outlives every entry it lists, since each registration extends it by the entry TTL
+                    Request.cmd(Command.EXPIRE).arg(index).arg(ttlSeconds)));
+            return toGeneration(responses.get(0));
+        } catch (Exception e) {
+            LOG.warnf(e, "Failed to index availability cache key for hotel: %d", hotelId);
+            return -1;
+        }
+    }
+
+    /**
+     * Deletes the freshly written entry {@code key} if the hotel was evicted since its
+     * loader registered at {@code generation}, as the load may predate the change, or
+     * if the key was never indexed and so would not be evicted at all.
+     */
+    public void discardIfEvicted(Long hotelId, String key, long generation) {
+        try {
+            if (generation < 0 || generation != toGeneration(
+                    cacheConfig.pipeline(List.of(Request.cmd(Command.GET).arg(generationKey(hotelId)))).get(0))) {
+                cacheConfig.delete(key);
+                LOG.debugf("Discarded availability cache entry %s loaded across an eviction", key);
+            }
+        } catch (Exception e) {
+            LOG.warnf(e, "Failed to check availability cache generation for hotel: %d", hotelId);
+        }
+    }
+
+    /**
+     * Evicts the cached availability of the hotel overlapping {@code [from, to)} once the
+     * current transaction commits, or immediately when there is none.
+     */
+    public void evictAfterCommit(Long hotelId, LocalDate from, LocalDate to) {
+        Range range = new Range(hotelId, from.toEpochDay(), to.toEpochDay());
+        if (transactionRegistry.getTransactionKey() == null) {
+            evict(List.of(range));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Range> pending = (List<Range>) transactionRegistry.getResource(PENDING_EVICTIONS);
+        if (pending == null) {
+            List<Range> ranges = new ArrayList<>();
+            transactionRegistry.putResource(PENDING_EVICTIONS, ranges);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        evict(ranges);
+                    }
+                }
+            });
+            pending = ranges;
+        }
+        pending.add(range);
+    }
+
+    /**
+     * Evicts every cached availability entry of the hotel after commit, for changes to
+     * its rooms rather than to a single stay.
+     */
+    public void evictHotelAfterCommit(Long hotelId) {
+        evictAfterCommit(hotelId, LocalDate.MIN, LocalDate.MAX);
+    }
+
+    private void evict(List<Range> ranges) {
+        try {
+            Map<Long, List<Range>> byHotel = new LinkedHashMap<>();
+            ranges.forEach(range -> byHotel.computeIfAbsent(range.hotelId(), id -> new ArrayList<>()).add(range));
+
+            // Generations move before the index is read, so later writes of in-flight loads are discarded
+            List<Request> lookups = new ArrayList<>(byHotel.size() * 2);
+            byHotel.forEach((hotelId, hotelRanges) -> {
+                long from = hotelRanges.stream().mapToLong(Range::from).min().orElseThrow();
+                lookups.add(Request.cmd(Command.INCR).arg(generationKey(hotelId)));
+                lookups.add(Request.cmd(Command.ZRANGEBYSCORE).arg(indexKey(hotelId)).arg("(" + from).arg("+inf"));
+            });
+            List<Response> candidates = cacheConfig.pipeline(lookups);
+
+            List<String> keys = new ArrayList<>();
+            List<Request> unindex = new ArrayList<>();
+            int i = 1;
+            for (Map.Entry<Long, List<Range>> hotel : byHotel.entrySet()) {
+                Response members = candidates.get(i);
+                i += 2;
+                Request zrem = Request.cmd(Command.ZREM).arg(indexKey(hotel.getKey()));
+                int matched = 0;
+                for (Response member : members) {
+                    String key = member.toString();
+                    if (overlapsAny(key, hotel.getValue())) {
+                        keys.add(key);
+                        zrem.arg(key);
+                        matched++;
+                    }
+                }
+                if (matched > 0) {
+                    unindex.add(zrem);
+                }
+            }
+            cacheConfig.deleteAll(keys, unindex);
+            if (!keys.isEmpty()) {
+                LOG.debugf("Evicted %d availability cache entries for hotels %s", keys.size(), byHotel.keySet());
+            }
+        } catch (Exception e) {
+            LOG.warnf(e, "Failed to evict availability cache for hotels %s, entries expire at their TTL",
+                    ranges.stream().map(Range::hotelId).distinct().toList());
+        }
+    }
+
+    private static boolean overlapsAny(String key, List<Range> ranges) {
+        // availability:{hotelId}:{checkIn}:{checkOut}
+        String[] parts = key.substring(Constants.CACHE_PREFIX_AVAILABILITY.length()).split(":");
+        if (parts.length != 3) {
+            return false;
+        }
+        long checkIn = LocalDate.parse(parts[1]).toEpochDay();
+        long checkOut = LocalDate.parse(parts[2]).toEpochDay();
+        for (Range range : ranges) {
+            if (checkIn < range.to() && checkOut > range.from()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String indexKey(Long hotelId) {
+        return Constants.CACHE_PREFIX_AVAILABILITY_INDEX + hotelId;
+    }
+
+    private static String generationKey(Long hotelId) {
+        return indexKey(hotelId) + ":generation";
+    }
+
+    private static long toGeneration(Response response) {
+        return response != null ? response.toLong() : 0;
+    }
+
+    private record Range(Long hotelId, long from, long to) {
+    }
+}
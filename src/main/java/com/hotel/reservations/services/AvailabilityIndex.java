@@ -0,0 +1,243 @@
+package com.hotel.reservations.services;
+
+import com.hotel.reservations.domain.enums.ReservationStatus;
+import com.hotel.reservations.messaging.ClusterEventSubscriber;
+import com.hotel.reservations.messaging.ReservationEvent;
+import com.hotel.reservations.repository.ReservationRepository;
+import com.hotel.reservations.utils.DateUtils;
+import com.hotel.reservations.utils.DayBitSet;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * In-process index of the active stays of every room, used to answer overlap and
+ * availability checks without querying the reservations table.
+ * <p>
+ * The index is warmed from the database at startup, kept current from committed
+ * {@link ReservationEvent}s (local ones and those of other nodes, via the cluster
+ * event bus) and periodically rebuilt so the database stays the source of truth.
+ * Events arrive out of commit order across nodes, so the index keeps the last applied
+ * version of each reservation and ignores events that are not newer.
+ * Until the first load completes, {@link #isReady()} is false and callers are
+ * expected to fall back to the repository queries.
+ */
+@ApplicationScoped
+public class AvailabilityIndex implements ClusterEventSubscriber {
+
+    private static final Logger LOG = Logger.getLogger(AvailabilityIndex.class);
+
+    private static final Set<String> INACTIVE_STATUSES = Set.of(
+            ReservationStatus.CANCELLED.name(), ReservationStatus.EXPIRED.name());
+
+    @Inject
+    ReservationRepository reservationRepository;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Map<Long, RoomStays> rooms = new ConcurrentHashMap<>();
+
+    // Last applied version by reservation id, swapped together with rooms
+    private volatile Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    // Events received while a rebuild is reading the database, replayed onto the new snapshot
+    private List<ReservationEvent> pendingDuringRebuild;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(every = "{hotel.availability.resync-interval}", delayed = "{hotel.availability.resync-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void resync() {
+        rebuild();
+    }
+
+    @Transactional
+    void rebuild() {
+        synchronized (rebuildLock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            Map<Long, RoomStays> fresh = new ConcurrentHashMap<>();
+            Map<Long, Long> freshVersions = new ConcurrentHashMap<>();
+            try (var stays = reservationRepository.streamActiveStays(LocalDate.now())) {
+                stays.forEach(r -> {
+                    fresh.computeIfAbsent(r.room.id, id -> new RoomStays())
+                            .put(new Stay(r.id, r.checkInDate, r.checkOutDate));
+                    freshVersions.put(r.id, r.version);
+                });
+            }
+            synchronized (rebuildLock) {
+                pendingDuringRebuild.forEach(e -> applyTo(fresh, freshVersions, e));
+                rooms = fresh;
+                versions = freshVersions;
+                ready = true;
+            }
+            LOG.infof("Availability index loaded: rooms=%d", fresh.size());
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to load availability index, falling back to database queries");
+        } finally {
+            synchronized (rebuildLock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    void onReservationEvent(@Observes(during = TransactionPhase.AFTER_SUCCESS) ReservationEvent event) {
+        apply(event);
+    }
+
+    @Override
+    public void onClusterEvent(ReservationEvent event) {
+        apply(event);
+    }
+
+    void apply(ReservationEvent event) {
+        if (event.roomId() == null || event.reservationId() == null) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+            applyTo(rooms, versions, event);
+        }
+    }
+
+    private static void applyTo(Map<Long, RoomStays> rooms, Map<Long, Long> versions, ReservationEvent event) {
+        if (event.version() != null) {
+            Long applied = versions.get(event.reservationId());
+            if (applied != null && applied >= event.version()) {
+                // Redelivered, or overtaken by a newer change of the same reservation
+                return;
+            }
+            versions.put(event.reservationId(), event.version());
+        }
+        RoomStays stays = rooms.computeIfAbsent(event.roomId(), id -> new RoomStays());
+        stays.remove(event.reservationId());
+        if (!INACTIVE_STATUSES.contains(event.status())) {
+            stays.put(new Stay(event.reservationId(), event.checkInDate(), event.checkOutDate()));
+        }
+    }
+
+    /**
+     * Returns true if any active stay of the room overlaps {@code [checkIn, checkOut)},
+     * ignoring the reservation with id {@code excludeReservationId} (may be null).
+     */
+    public boolean hasOverlap(Long roomId, LocalDate checkIn, LocalDate checkOut, Long excludeReservationId) {
+        return hasOverlapIgnoring(roomId, checkIn, checkOut, reservationId -> reservationId.equals(excludeReservationId));
+    }
+
+    /**
+     * Returns true if any active stay of the room overlaps {@code [checkIn, checkOut)},
+     * ignoring the reservations matched by {@code ignored}.
+     */
+    public boolean hasOverlapIgnoring(Long roomId, LocalDate checkIn, LocalDate checkOut, Predicate<Long> ignored) {
+        RoomStays stays = rooms.get(roomId);
+        return stays != null && stays.overlaps(checkIn, checkOut, ignored);
+    }
+
+    /**
+     * Returns the subset of {@code roomIds} that have at least one active stay
+     * overlapping {@code [checkIn, checkOut)}.
+     */
+    public Set<Long> findOccupied(Collection<Long> roomIds, LocalDate checkIn, LocalDate checkOut) {
+        return roomIds.stream()
+                .filter(id -> hasOverlap(id, checkIn, checkOut, null))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns the nights of {@code [from, from + days)} on which the room has an active
+     * stay, as a bitset whose bit {@code i} is the night of {@code from + i}.
+     */
+    public long[] occupiedNights(Long roomId, LocalDate from, int days) {
+        RoomStays stays = rooms.get(roomId);
+        return stays != null ? stays.occupiedNights(from, days) : new long[DayBitSet.wordsFor(days)];
+    }
+
+    record Stay(Long reservationId, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    /**
+     * Stays of a single room ordered by check-in date. Since stays have a bounded
+     * length, an overlap query only needs to look at the stays that start within
+     * the longest known stay before the requested check-out. Occupied nights are
+     * also kept as a day bitset for calendar queries.
+     */
+    static final class RoomStays {
+
+        private final NavigableMap<LocalDate, List<Stay>> byCheckIn = new TreeMap<>();
+        private final Map<Long, Stay> byReservation = new HashMap<>();
+        private final DayBitSet nights = new DayBitSet();
+        private long longestStayDays;
+
+        synchronized void put(Stay stay) {
+            byCheckIn.computeIfAbsent(stay.checkIn(), d -> new ArrayList<>(1)).add(stay);
+            byReservation.put(stay.reservationId(), stay);
+            nights.set(stay.checkIn(), stay.checkOut());
+            longestStayDays = Math.max(longestStayDays, DateUtils.daysBetween(stay.checkIn(), stay.checkOut()));
+        }
+
+        synchronized void remove(Long reservationId) {
+            Stay stay = byReservation.remove(reservationId);
+            if (stay == null) {
+                return;
+            }
+            List<Stay> sameDay = byCheckIn.get(stay.checkIn());
+            if (sameDay != null) {
+                sameDay.removeIf(s -> s.reservationId().equals(reservationId));
+                if (sameDay.isEmpty()) {
+                    byCheckIn.remove(stay.checkIn());
+                }
+            }
+            // Restore the nights of any remaining stay that shared the released range
+            nights.clear(stay.checkIn(), stay.checkOut());
+            for (List<Stay> stays : byCheckIn.subMap(stay.checkIn().minusDays(longestStayDays), true,
+                    stay.checkOut(), false).values()) {
+                stays.forEach(s -> nights.set(s.checkIn(), s.checkOut()));
+            }
+        }
+
+        synchronized long[] occupiedNights(LocalDate from, int days) {
+            return nights.window(from, days);
+        }
+
+        synchronized boolean overlaps(LocalDate checkIn, LocalDate checkOut, Predicate<Long> ignored) {
+            LocalDate earliestStart = checkIn.minusDays(longestStayDays);
+            for (List<Stay> stays : byCheckIn.subMap(earliestStart, true, checkOut, false).values()) {
+                for (Stay stay : stays) {
+                    if (stay.checkOut().isAfter(checkIn) && !ignored.test(stay.reservationId())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
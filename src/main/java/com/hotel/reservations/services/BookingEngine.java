@@ -0,0 +1,377 @@
+package com.hotel.reservations.services;
+
+import com.hotel.reservations.domain.entities.Reservation;
+import com.hotel.reservations.infrastructure.exceptions.HotelException;
+import com.hotel.reservations.repository.ReservationRepository;
+import com.hotel.reservations.repository.RoomRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.ServiceUnavailableException;
+import jakarta.ws.rs.WebApplicationException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Serializes every command that changes room occupancy through a single writer
+ * per partition, so overlap checks and writes for a room can never interleave.
+ * <p>
+ * Commands are routed by hotel id to one of {@code hotel.booking.partitions} queues,
+ * each drained by a dedicated thread. This keeps commands touching several rooms of
+ * the same hotel on one writer. The worker takes up to {@code hotel.booking.max-batch-size}
+ * queued commands and runs them in a single transaction (group commit).
+ * <p>
+ * Overlaps are first checked against the stays held by earlier commands of the same
+ * batch, then against the {@link AvailabilityIndex}, which only serves as a fast
+ * rejection: a stay it knows of fails the command without a query. A room the index
+ * reports as free is locked and checked in the database within the batch transaction,
+ * since the index of this node can lag behind bookings committed by other nodes.
+ * <p>
+ * A command rejected with a {@link HotelException} or {@link WebApplicationException}
+ * fails on its own and must not have written anything before throwing. Any other error
+ * rolls back the batch, and its commands are then retried one transaction each.
+ * <p>
+ * The writer threads order the commands of one JVM; across nodes, the room row lock
+ * taken before the database check serializes bookings of the same room.
+ */
+@ApplicationScoped
+public class BookingEngine {
+
+    private static final Logger LOG = Logger.getLogger(BookingEngine.class);
+
+    @Inject
+    AvailabilityIndex availabilityIndex;
+
+    @Inject
+    ReservationRepository reservationRepository;
+
+    @Inject
+    RoomRepository roomRepository;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "hotel.booking.partitions")
+    int partitionCount;
+
+    @ConfigProperty(name = "hotel.booking.max-batch-size")
+    int maxBatchSize;
+
+    @ConfigProperty(name = "hotel.booking.queue-capacity")
+    int queueCapacity;
+
+    @ConfigProperty(name = "hotel.booking.submit-timeout")
+    Duration submitTimeout;
+
+    private Partition[] partitions;
+
+    private Timer transactionTimer;
+
+    private DistributionSummary batchSize;
+
+    private volatile boolean running;
+
+    /**
+     * A unit of work executed on the partition's writer thread inside its transaction.
+     */
+    @FunctionalInterface
+    public interface Command<T> {
+        T execute(Booking booking);
+    }
+
+    /**
+     * Occupancy view handed to a {@link Command}, including the uncommitted changes of
+     * the commands that ran before it in the same batch.
+     */
+    public interface Booking {
+
+        boolean isBooked(Long roomId, LocalDate checkIn, LocalDate checkOut, Long excludeReservationId);
+
+        Set<Long> findBooked(Collection<Long> roomIds, LocalDate checkIn, LocalDate checkOut);
+
+        void hold(Long roomId, Long reservationId, LocalDate checkIn, LocalDate checkOut);
+
+        void release(Long reservationId);
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTimer = Timer.builder("reservation.booking.transaction")
+                .description("Time a booking batch holds a database transaction and connection")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        batchSize = DistributionSummary.builder("reservation.booking.batch.size")
+                .description("Number of booking commands committed together")
+                .register(meterRegistry);
+
+        running = true;
+        partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            Partition partition = new Partition(new ArrayBlockingQueue<>(queueCapacity));
+            Thread worker = new Thread(() -> drain(partition), "booking-partition-" + i);
+            worker.setDaemon(true);
+            partition.worker = worker;
+            partitions[i] = partition;
+            worker.start();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        for (Partition partition : partitions) {
+            partition.worker.interrupt();
+            for (Task<?> task : partition.queue) {
+                task.future.completeExceptionally(new ServiceUnavailableException("Booking engine is shutting down"));
+            }
+        }
+    }
+
+    /**
+     * Runs {@code command} on the writer of the hotel's partition and waits up to
+     * {@code hotel.booking.submit-timeout} for its batch to commit. A command that
+     * times out while still queued is withdrawn; one that already started may still
+     * commit after the caller was told to retry.
+     */
+    public <T> T submit(Long hotelId, Command<T> command) {
+        Partition partition = partitions[Math.floorMod(Long.hashCode(hotelId), partitions.length)];
+        Task<T> task = new Task<>(command, new CompletableFuture<>());
+        if (!running || !partition.queue.offer(task)) {
+            throw new ServiceUnavailableException("Booking queue is full, please retry");
+        }
+        try {
+            return task.future.get(submitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            boolean withdrawn = partition.queue.remove(task);
+            LOG.warnf("Booking command for hotel %d timed out after %s (%s)", hotelId, submitTimeout,
+                    withdrawn ? "withdrawn" : "already running");
+            throw new ServiceUnavailableException("Booking did not complete in time, please retry");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for booking");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void drain(Partition partition) {
+        List<Task<?>> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                batch.add(partition.queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            partition.queue.drainTo(batch, maxBatchSize - 1);
+
+            ManagedContext requestContext = Arc.container().requestContext();
+            requestContext.activate();
+            try {
+                process(batch);
+            } catch (Throwable t) {
+                // Keep the partition's only writer alive; unanswered commands fail with the error
+                LOG.errorf(t, "Booking batch of %d commands failed unexpectedly", batch.size());
+                batch.forEach(task -> task.future.completeExceptionally(t));
+            } finally {
+                requestContext.terminate();
+                batch.clear();
+            }
+        }
+    }
+
+    private void process(List<Task<?>> batch) {
+        List<Runnable> outcomes;
+        long start = System.nanoTime();
+        try {
+            outcomes = QuarkusTransaction.requiringNew().call(() -> executeAll(batch));
+        } catch (Exception e) {
+            transactionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (batch.size() == 1) {
+                batch.get(0).future.completeExceptionally(e);
+                return;
+            }
+            LOG.warnf(e, "Booking batch of %d commands failed, retrying individually", batch.size());
+            for (Task<?> task : batch) {
+                process(List.of(task));
+            }
+            return;
+        }
+        transactionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSize.record(batch.size());
+        // Callers only observe their result once the whole batch is durable
+        outcomes.forEach(Runnable::run);
+    }
+
+    private List<Runnable> executeAll(List<Task<?>> batch) {
+        BatchState state = new BatchState();
+        List<Runnable> outcomes = new ArrayList<>(batch.size());
+        for (Task<?> task : batch) {
+            outcomes.add(execute(task, state));
+        }
+        return outcomes;
+    }
+
+    private <T> Runnable execute(Task<T> task, BatchState state) {
+        CommandBooking booking = new CommandBooking(state);
+        try {
+            T result = task.command.execute(booking);
+            booking.commit();
+            return () -> task.future.complete(result);
+        } catch (HotelException | WebApplicationException e) {
+            return () -> task.future.completeExceptionally(e);
+        }
+    }
+
+    private static boolean overlapsHeld(List<Hold> holds, LocalDate checkIn, LocalDate checkOut,
+                                        Long excludeReservationId) {
+        if (holds == null) {
+            return false;
+        }
+        for (Hold hold : holds) {
+            if (hold.checkIn().isBefore(checkOut) && hold.checkOut().isAfter(checkIn)
+                    && !hold.reservationId().equals(excludeReservationId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Task<T>(Command<T> command, CompletableFuture<T> future) {
+    }
+
+    private record Hold(Long reservationId, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    private static final class Partition {
+
+        private final BlockingQueue<Task<?>> queue;
+        private Thread worker;
+
+        private Partition(BlockingQueue<Task<?>> queue) {
+            this.queue = queue;
+        }
+    }
+
+    /**
+     * Uncommitted occupancy changes made by the successful commands of a batch.
+     */
+    private static final class BatchState {
+
+        private final Map<Long, List<Hold>> held = new HashMap<>();
+        private final Set<Long> released = new HashSet<>();
+    }
+
+    /**
+     * Occupancy changes of a single command, merged into the batch only when the
+     * command succeeds.
+     */
+    private final class CommandBooking implements Booking {
+
+        private final BatchState batch;
+        private final Map<Long, List<Hold>> held = new HashMap<>();
+        private final Set<Long> released = new HashSet<>();
+
+        private CommandBooking(BatchState batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public boolean isBooked(Long roomId, LocalDate checkIn, LocalDate checkOut, Long excludeReservationId) {
+            if (isHeldOrIndexed(roomId, checkIn, checkOut, excludeReservationId)) {
+                return true;
+            }
+            roomRepository.lockForBooking(List.of(roomId));
+            // Earlier writes of this batch are flushed before the query runs
+            List<Reservation> overlapping = reservationRepository.findOverlapping(roomId, checkIn, checkOut);
+            overlapping.removeIf(r -> isIgnored(r.id, excludeReservationId));
+            return !overlapping.isEmpty();
+        }
+
+        @Override
+        public Set<Long> findBooked(Collection<Long> roomIds, LocalDate checkIn, LocalDate checkOut) {
+            Set<Long> booked = new HashSet<>();
+            List<Long> candidates = new ArrayList<>(roomIds.size());
+            for (Long roomId : roomIds) {
+                if (isHeldOrIndexed(roomId, checkIn, checkOut, null)) {
+                    booked.add(roomId);
+                } else {
+                    candidates.add(roomId);
+                }
+            }
+            if (!candidates.isEmpty()) {
+                roomRepository.lockForBooking(candidates);
+                // One query for the remaining rooms; earlier writes of this batch are flushed before it runs
+                booked.addAll(reservationRepository.findBookedRoomIds(candidates, checkIn, checkOut));
+            }
+            return booked;
+        }
+
+        /**
+         * Returns true if the stay overlaps a hold of this batch or a stay known to the
+         * index. A false result still has to be confirmed in the database.
+         */
+        private boolean isHeldOrIndexed(Long roomId, LocalDate checkIn, LocalDate checkOut, Long excludeReservationId) {
+            if (overlapsHeld(batch.held.get(roomId), checkIn, checkOut, excludeReservationId)
+                    || overlapsHeld(held.get(roomId), checkIn, checkOut, excludeReservationId)) {
+                return true;
+            }
+            return availabilityIndex.isReady() && availabilityIndex.hasOverlapIgnoring(roomId, checkIn, checkOut,
+                    reservationId -> isIgnored(reservationId, excludeReservationId));
+        }
+
+        private boolean isIgnored(Long reservationId, Long excludeReservationId) {
+            return reservationId.equals(excludeReservationId)
+                    || batch.released.contains(reservationId)
+                    || released.contains(reservationId);
+        }
+
+        @Override
+        public void hold(Long roomId, Long reservationId, LocalDate checkIn, LocalDate checkOut) {
+            held.computeIfAbsent(roomId, id -> new ArrayList<>()).add(new Hold(reservationId, checkIn, checkOut));
+        }
+
+        @Override
+        public void release(Long reservationId) {
+            released.add(reservationId);
+            held.values().forEach(holds -> holds.removeIf(h -> h.reservationId().equals(reservationId)));
+        }
+
+        private void commit() {
+            if (!released.isEmpty()) {
+                batch.released.addAll(released);
+                batch.held.values().forEach(holds -> holds.removeIf(h -> released.contains(h.reservationId())));
+            }
+            held.forEach((roomId, holds) -> batch.held.computeIfAbsent(roomId, id -> new ArrayList<>()).addAll(holds));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.hotel.reservations.services;
 
+import com.hotel.reservations.domain.dto.CursorPage;
 import com.hotel.reservations.domain.entities.Guest;
 import com.hotel.reservations.infrastructure.config.CacheConfig;
 import com.hotel.reservations.repository.GuestRepository;
@@ -10,7 +11,11 @@ import jakarta.ws.rs.NotFoundException;
 import org.jboss.logging.Logger;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
 public class GuestService {
@@ -23,6 +28,9 @@ public class GuestService {
     @Inject
     CacheConfig cacheConfig;
 
+    @Inject
+    NameSearchIndex nameSearchIndex;
+
     public Guest findById(Long id) {
         Guest guest = guestRepository.findById(id);
         if (guest == null) {
@@ -38,6 +46,7 @@ public class GuestService {
     @Transactional
     public Guest create(Guest guest) {
         guestRepository.persist(guest);
+        nameSearchIndex.indexGuest(guest);
         LOG.infof("Guest created: id=%d, email=%s", guest.id, guest.email);
         return guest;
     }
@@ -58,11 +67,25 @@ public class GuestService {
         existing.nationality = guest.nationality;
 
         guestRepository.persist(existing);
+        nameSearchIndex.indexGuest(existing);
         LOG.infof("Guest updated: id=%d", id);
         return existing;
     }
 
-    public List<Guest> searchByName(String name) {
-        return guestRepository.searchByName(name);
+    /**
+     * Ranked prefix and typo-tolerant search over guest first and last names.
+     */
+    public List<Guest> searchByName(String name, int limit) {
+        int max = CursorPage.clampSize(limit);
+        if (!nameSearchIndex.isReady()) {
+            return guestRepository.searchByName(name, max);
+        }
+        List<Long> ids = nameSearchIndex.searchGuests(name, max);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Guest> byId = guestRepository.findByIds(ids).stream()
+                .collect(Collectors.toMap(guest -> guest.id, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 }
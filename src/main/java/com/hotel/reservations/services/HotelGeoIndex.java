@@ -0,0 +1,256 @@
+package com.hotel.reservations.services;
+
+import com.hotel.reservations.domain.entities.Hotel;
+import com.hotel.reservations.repository.HotelRepository;
+import com.hotel.reservations.utils.GeoUtils;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * In-process spatial index of hotel coordinates for radius searches.
+ * <p>
+ * Hotels are bucketed into a fixed latitude/longitude grid of
+ * {@code hotel.geo.cell-size-degrees}. A radius query only visits the cells
+ * overlapping the bounding box of the circle and computes exact haversine
+ * distances for the hotels in them. The index follows the same lifecycle as
+ * {@link NameSearchIndex}: built at startup, updated once hotel writes commit and
+ * rebuilt on {@code hotel.geo.resync-interval}.
+ */
+@ApplicationScoped
+public class HotelGeoIndex {
+
+    private static final Logger LOG = Logger.getLogger(HotelGeoIndex.class);
+    private static final Object PENDING_UPDATES = HotelGeoIndex.class.getName() + ".pending";
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "hotel.geo.cell-size-degrees")
+    double cellSizeDegrees;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Grid grid;
+
+    // Writes applied while a rebuild is reading the database, replayed onto the new grid
+    private List<Consumer<Grid>> pendingDuringRebuild;
+
+    public boolean isReady() {
+        return grid != null;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(every = "{hotel.geo.resync-interval}", delayed = "{hotel.geo.resync-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void resync() {
+        rebuild();
+    }
+
+    @Transactional
+    void rebuild() {
+        synchronized (rebuildLock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            Grid fresh = new Grid(cellSizeDegrees);
+            try (var hotels = hotelRepository.streamAll()) {
+                hotels.forEach(hotel -> fresh.put(hotel.id, hotel.latitude, hotel.longitude));
+            }
+            synchronized (rebuildLock) {
+                pendingDuringRebuild.forEach(update -> update.accept(fresh));
+                grid = fresh;
+            }
+            LOG.infof("Hotel geo index loaded: hotels=%d", fresh.size());
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to load hotel geo index");
+        } finally {
+            synchronized (rebuildLock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    public void indexHotel(Hotel hotel) {
+        Long id = hotel.id;
+        Double latitude = hotel.latitude;
+        Double longitude = hotel.longitude;
+        applyAfterCommit(g -> g.put(id, latitude, longitude));
+    }
+
+    public void removeHotel(Long id) {
+        applyAfterCommit(g -> g.remove(id));
+    }
+
+    /**
+     * Returns at most {@code limit} hotels within {@code radiusKm} of the given point, nearest first.
+     */
+    public List<NearbyHotel> findWithin(double latitude, double longitude, double radiusKm, int limit) {
+        return grid.findWithin(latitude, longitude, radiusKm).stream()
+                .sorted(Comparator.comparingDouble(NearbyHotel::distanceKm))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Applies {@code update} once the current transaction commits, or immediately when
+     * there is none.
+     */
+    private void applyAfterCommit(Consumer<Grid> update) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            apply(update);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Consumer<Grid>> pending = (List<Consumer<Grid>>) transactionRegistry.getResource(PENDING_UPDATES);
+        if (pending == null) {
+            List<Consumer<Grid>> updates = new ArrayList<>();
+            transactionRegistry.putResource(PENDING_UPDATES, updates);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        updates.forEach(HotelGeoIndex.this::apply);
+                    }
+                }
+            });
+            pending = updates;
+        }
+        pending.add(update);
+    }
+
+    private void apply(Consumer<Grid> update) {
+        synchronized (rebuildLock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(update);
+            }
+            Grid current = grid;
+            if (current != null) {
+                update.accept(current);
+            }
+        }
+    }
+
+    public record NearbyHotel(Long hotelId, double distanceKm) {
+    }
+
+    private record Point(Long hotelId, double latitude, double longitude) {
+    }
+
+    private static final class Grid {
+
+        private final double cellSize;
+        private final int latCells;
+        private final int lonCells;
+        private final Map<Long, List<Point>> cells = new HashMap<>();
+        private final Map<Long, Point> byHotel = new HashMap<>();
+
+        private Grid(double cellSize) {
+            this.cellSize = cellSize;
+            this.latCells = (int) Math.ceil(180 / cellSize);
+            this.lonCells = (int) Math.ceil(360 / cellSize);
+        }
+
+        synchronized int size() {
+            return byHotel.size();
+        }
+
+        synchronized void put(Long hotelId, Double latitude, Double longitude) {
+            remove(hotelId);
+            if (latitude == null || longitude == null || !GeoUtils.isValidCoordinate(latitude, longitude)) {
+                return;
+            }
+            Point point = new Point(hotelId, latitude, longitude);
+            byHotel.put(hotelId, point);
+            cells.computeIfAbsent(cellKey(latIndex(latitude), lonIndex(longitude)), k -> new ArrayList<>()).add(point);
+        }
+
+        synchronized void remove(Long hotelId) {
+            Point point = byHotel.remove(hotelId);
+            if (point == null) {
+                return;
+            }
+            long key = cellKey(latIndex(point.latitude()), lonIndex(point.longitude()));
+            List<Point> cell = cells.get(key);
+            if (cell != null) {
+                cell.removeIf(p -> p.hotelId().equals(hotelId));
+                if (cell.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+
+        synchronized List<NearbyHotel> findWithin(double latitude, double longitude, double radiusKm) {
+            double latDelta = radiusKm / GeoUtils.KM_PER_DEGREE;
+            int fromLat = latIndex(Math.max(-90, latitude - latDelta));
+            int toLat = latIndex(Math.min(90, latitude + latDelta));
+
+            // Longitude degrees shrink towards the poles; scan every column once the box spans them
+            double cosLat = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latDelta)));
+            double lonDelta = cosLat > 1e-6 ? radiusKm / (GeoUtils.KM_PER_DEGREE * cosLat) : 360;
+            int fromLon;
+            int lonSpan;
+            if (lonDelta >= 180) {
+                fromLon = 0;
+                lonSpan = lonCells;
+            } else {
+                fromLon = (int) Math.floor((longitude - lonDelta + 180) / cellSize);
+                lonSpan = Math.min(lonCells, (int) Math.floor((longitude + lonDelta + 180) / cellSize) - fromLon + 1);
+            }
+
+            List<NearbyHotel> result = new ArrayList<>();
+            for (int lat = fromLat; lat <= toLat; lat++) {
+                for (int i = 0; i < lonSpan; i++) {
+                    List<Point> cell = cells.get(cellKey(lat, Math.floorMod(fromLon + i, lonCells)));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Point point : cell) {
+                        double distance = GeoUtils.haversineKm(latitude, longitude, point.latitude(), point.longitude());
+                        if (distance <= radiusKm) {
+                            result.add(new NearbyHotel(point.hotelId(), distance));
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private int latIndex(double latitude) {
+            return Math.min(latCells - 1, (int) Math.floor((latitude + 90) / cellSize));
+        }
+
+        private int lonIndex(double longitude) {
+            return Math.floorMod((int) Math.floor((longitude + 180) / cellSize), lonCells);
+        }
+
+        private static long cellKey(int latIndex, int lonIndex) {
+            return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+        }
+    }
+}
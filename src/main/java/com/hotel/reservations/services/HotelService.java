@@ -1,20 +1,35 @@
 package com.hotel.reservations.services;
 
+import com.hotel.reservations.domain.dto.CursorPage;
+import com.hotel.reservations.domain.dto.NearbyHotelDto;
 import com.hotel.reservations.domain.entities.Hotel;
 import com.hotel.reservations.infrastructure.config.CacheConfig;
 import com.hotel.reservations.infrastructure.config.HotelConfig;
+import com.hotel.reservations.infrastructure.exceptions.InvalidDateRangeException;
+import com.hotel.reservations.infrastructure.metrics.Instrumented;
+import com.hotel.reservations.mappers.HotelMapper;
 import com.hotel.reservations.repository.HotelRepository;
 import com.hotel.reservations.utils.Constants;
+import com.hotel.reservations.utils.CursorCodec;
+import com.hotel.reservations.utils.DateUtils;
+import com.hotel.reservations.utils.GeoUtils;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
 import org.jboss.logging.Logger;
 
+import java.time.LocalDate;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
+@Instrumented
 public class HotelService {
 
     private static final Logger LOG = Logger.getLogger(HotelService.class);
@@ -28,53 +43,152 @@ public class HotelService {
     @Inject
     HotelConfig hotelConfig;
 
+    @Inject
+    NameSearchIndex nameSearchIndex;
+
+    @Inject
+    HotelGeoIndex geoIndex;
+
+    @Inject
+    RoomService roomService;
+
+    @Inject
+    HotelMapper hotelMapper;
+
     public List<Hotel> findAll(int page, int size) {
-        String cacheKey = Constants.CACHE_PREFIX_HOTEL + "all:" + page + ":" + size;
-        Optional<Hotel[]> cached = cacheConfig.getObject(cacheKey, Hotel[].class);
-        if (cached.isPresent()) {
-            LOG.debugf("Hotel list cache hit for page=%d, size=%d", page, size);
-            return List.of(cached.get());
-        }
+        String cacheKey = cacheConfig.namespacedKey(Constants.CACHE_NAMESPACE_HOTEL_LIST, "all:" + page + ":" + size);
+        long ttl = (long) hotelConfig.getCacheTtlMinutes() * 60;
+        Hotel[] hotels = cacheConfig.getOrLoad(cacheKey, Hotel[].class, ttl,
+                () -> hotelRepository.findAllPaged(page, size).toArray(new Hotel[0]));
+        return List.of(hotels);
+    }
 
-        List<Hotel> hotels = hotelRepository.findAllPaged(page, size);
+    /**
+     * Returns the page of hotels following the {@code after} cursor, ordered by id.
+     * Each page is a single index seek regardless of how deep it is.
+     */
+    public CursorPage<Hotel> findPage(String after, int size) {
+        long afterId = CursorCodec.decode(after);
+        int pageSize = CursorPage.clampSize(size);
+        String cacheKey = cacheConfig.namespacedKey(Constants.CACHE_NAMESPACE_HOTEL_LIST,
+                "all:after:" + afterId + ":" + pageSize);
         long ttl = (long) hotelConfig.getCacheTtlMinutes() * 60;
-        cacheConfig.putObject(cacheKey, hotels.toArray(new Hotel[0]), ttl);
-        return hotels;
+        Hotel[] hotels = cacheConfig.getOrLoad(cacheKey, Hotel[].class, ttl,
+                () -> hotelRepository.findAfter(afterId, pageSize + 1).toArray(new Hotel[0]));
+        return CursorPage.of(List.of(hotels), pageSize, hotel -> hotel.id);
     }
 
     public Hotel findById(Long id) {
-        String cacheKey = Constants.CACHE_PREFIX_HOTEL + id;
-        Optional<Hotel> cached = cacheConfig.getObject(cacheKey, Hotel.class);
-        if (cached.isPresent()) {
-            return cached.get();
-        }
-
-        Hotel hotel = hotelRepository.findById(id);
-        if (hotel == null) {
-            throw new NotFoundException("Hotel not found with id: " + id);
-        }
-
         long ttl = (long) hotelConfig.getCacheTtlMinutes() * 60;
-        cacheConfig.putObject(cacheKey, hotel, ttl);
-        return hotel;
+        return cacheConfig.getOrLoad(Constants.CACHE_PREFIX_HOTEL + id, Hotel.class, ttl, () -> {
+            Hotel hotel = hotelRepository.findById(id);
+            if (hotel == null) {
+                throw new NotFoundException("Hotel not found with id: " + id);
+            }
+            return hotel;
+        });
     }
 
     public List<Hotel> findByCity(String city) {
         return hotelRepository.findByCity(city);
     }
 
-    public List<Hotel> searchByName(String name) {
-        return hotelRepository.findByNameContaining(name);
+    /**
+     * Ranked prefix and typo-tolerant search over hotel names and cities.
+     */
+    public List<Hotel> searchByName(String name, int limit) {
+        int max = CursorPage.clampSize(limit);
+        if (!nameSearchIndex.isReady()) {
+            return hotelRepository.findByNameContaining(name, max);
+        }
+        List<Long> ids = nameSearchIndex.searchHotels(name, max);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Hotel> byId = hotelRepository.findByIds(ids).stream()
+                .collect(Collectors.toMap(hotel -> hotel.id, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Returns hotels within {@code radiusKm} of a point, nearest first. When a stay is
+     * given, each result carries its number of rooms free for the whole stay.
+     */
+    public List<NearbyHotelDto> findNearby(double latitude, double longitude, double radiusKm,
+                                           LocalDate checkIn, LocalDate checkOut, int limit) {
+        if (!GeoUtils.isValidCoordinate(latitude, longitude)) {
+            throw new BadRequestException("Invalid coordinates: " + latitude + ", " + longitude);
+        }
+        if (radiusKm <= 0 || radiusKm > hotelConfig.getGeoMaxRadiusKm()) {
+            throw new BadRequestException("radiusKm must be between 0 and " + hotelConfig.getGeoMaxRadiusKm());
+        }
+        boolean withAvailability = checkIn != null || checkOut != null;
+        if (withAvailability && !DateUtils.isDateRangeValid(checkIn, checkOut)) {
+            throw new InvalidDateRangeException("Check-out date must be after check-in date");
+        }
+
+        int max = CursorPage.clampSize(limit);
+        List<HotelGeoIndex.NearbyHotel> nearby = geoIndex.isReady()
+                ? geoIndex.findWithin(latitude, longitude, radiusKm, max)
+                : findNearbyInDatabase(latitude, longitude, radiusKm, max);
+        if (nearby.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = nearby.stream().map(HotelGeoIndex.NearbyHotel::hotelId).toList();
+        Map<Long, Hotel> byId = hotelRepository.findByIds(ids).stream()
+                .collect(Collectors.toMap(hotel -> hotel.id, Function.identity()));
+        Map<Long, Integer> available = withAvailability
+                ? roomService.countAvailableRooms(ids, checkIn, checkOut)
+                : Map.of();
+
+        return nearby.stream()
+                .filter(n -> byId.containsKey(n.hotelId()))
+                .map(n -> new NearbyHotelDto(hotelMapper.toDto(byId.get(n.hotelId())), n.distanceKm(),
+                        withAvailability ? available.getOrDefault(n.hotelId(), 0) : null))
+                .toList();
+    }
+
+    private List<HotelGeoIndex.NearbyHotel> findNearbyInDatabase(double latitude, double longitude,
+                                                                 double radiusKm, int limit) {
+        double latDelta = radiusKm / GeoUtils.KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latDelta)));
+        double lonDelta = cosLat > 1e-6 ? radiusKm / (GeoUtils.KM_PER_DEGREE * cosLat) : 360;
+        double minLon = longitude - lonDelta;
+        double maxLon = longitude + lonDelta;
+        // Boxes crossing the antimeridian or a pole fall back to the full longitude range
+        if (minLon < -180 || maxLon > 180) {
+            minLon = -180;
+            maxLon = 180;
+        }
+        return hotelRepository.findInBoundingBox(latitude - latDelta, latitude + latDelta, minLon, maxLon).stream()
+                .filter(h -> h.latitude != null && h.longitude != null)
+                .map(h -> new HotelGeoIndex.NearbyHotel(h.id,
+                        GeoUtils.haversineKm(latitude, longitude, h.latitude, h.longitude)))
+                .filter(n -> n.distanceKm() <= radiusKm)
+                .sorted(Comparator.comparingDouble(HotelGeoIndex.NearbyHotel::distanceKm))
+                .limit(limit)
+                .toList();
     }
 
     @Transactional
     public Hotel create(Hotel hotel) {
         hotelRepository.persist(hotel);
-        cacheConfig.delete(Constants.CACHE_PREFIX_HOTEL + "all:0:20");
+        nameSearchIndex.indexHotel(hotel);
+        geoIndex.indexHotel(hotel);
+        evictListPages();
         LOG.infof("Hotel created: id=%d, name=%s", hotel.id, hotel.name);
         return hotel;
     }
 
+    /**
+     * Invalidates every cached page of the hotel listing, in both the offset and cursor
+     * forms, once the current transaction commits or immediately when there is none.
+     */
+    public void evictListPages() {
+        cacheConfig.bumpNamespaceAfterCommit(Constants.CACHE_NAMESPACE_HOTEL_LIST);
+    }
+
     @Transactional
     public Hotel update(Long id, Hotel hotel) {
         Hotel existing = hotelRepository.findById(id);
@@ -94,7 +208,10 @@ public class HotelService {
         existing.email = hotel.email;
 
         hotelRepository.persist(existing);
-        cacheConfig.delete(Constants.CACHE_PREFIX_HOTEL + id);
+        nameSearchIndex.indexHotel(existing);
+        geoIndex.indexHotel(existing);
+        cacheConfig.deleteAllAfterCommit(List.of(Constants.CACHE_PREFIX_HOTEL + id));
+        evictListPages();
         LOG.infof("Hotel updated: id=%d", id);
         return existing;
     }
@@ -106,7 +223,10 @@ public class HotelService {
             throw new NotFoundException("Hotel not found with id: " + id);
         }
         hotelRepository.delete(hotel);
-        cacheConfig.delete(Constants.CACHE_PREFIX_HOTEL + id);
+        nameSearchIndex.removeHotel(id);
+        geoIndex.removeHotel(id);
+        cacheConfig.deleteAllAfterCommit(List.of(Constants.CACHE_PREFIX_HOTEL + id));
+        evictListPages();
         LOG.infof("Hotel deleted: id=%d", id);
     }
 }
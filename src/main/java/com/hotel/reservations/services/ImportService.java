@@ -0,0 +1,285 @@
+package com.hotel.reservations.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservations.domain.dto.HotelImportRow;
+import com.hotel.reservations.domain.dto.ImportResult;
+import com.hotel.reservations.domain.dto.RoomImportRow;
+import com.hotel.reservations.domain.entities.Hotel;
+import com.hotel.reservations.domain.entities.Room;
+import com.hotel.reservations.domain.enums.ImportFormat;
+import com.hotel.reservations.repository.HotelRepository;
+import com.hotel.reservations.repository.RoomRepository;
+import com.hotel.reservations.utils.Constants;
+import com.hotel.reservations.utils.CsvUtils;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.ws.rs.BadRequestException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of hotels and rooms from NDJSON (one JSON object per line) or CSV
+ * (header line followed by one record per line).
+ * <p>
+ * The body is read line by line and never buffered as a whole. Valid rows are
+ * persisted in batches of {@code hotel.import.batch-size}, each in its own transaction
+ * that is flushed and cleared before commit so the persistence context stays small.
+ * If a batch fails, its rows are retried one by one so that only the offending rows
+ * are reported. The search indexes pick up imported hotels as each batch commits.
+ * <p>
+ * Bodies are still subject to {@code quarkus.http.limits.max-body-size}; larger files
+ * are answered with 413 and have to be split into several imports.
+ * <p>
+ * Hotel and room ids are IDENTITY columns, so Hibernate cannot JDBC-batch these
+ * inserts and sends one statement per row; the batch size bounds the transaction and
+ * the persistence context, not the number of round trips.
+ */
+@ApplicationScoped
+public class ImportService {
+
+    private static final Logger LOG = Logger.getLogger(ImportService.class);
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    RoomRepository roomRepository;
+
+    @Inject
+    HotelService hotelService;
+
+    @Inject
+    NameSearchIndex nameSearchIndex;
+
+    @Inject
+    HotelGeoIndex geoIndex;
+
+    @Inject
+    AvailabilityCacheIndex availabilityCacheIndex;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Validator validator;
+
+    @ConfigProperty(name = "hotel.import.batch-size")
+    int batchSize;
+
+    public ImportResult importHotels(InputStream body, ImportFormat format) {
+        ImportResult result = run(body, format, HotelImportRow.class, (rows, progress) -> rows, this::persistHotels);
+        if (result.imported() > 0) {
+            hotelService.evictListPages();
+        }
+        LOG.infof("Hotel import finished: imported=%d, failed=%d, rowsPerSecond=%.0f",
+                result.imported(), result.failed(), result.rowsPerSecond());
+        return result;
+    }
+
+    public ImportResult importRooms(InputStream body, ImportFormat format) {
+        ImportResult result = run(body, format, RoomImportRow.class, this::rejectUnknownHotels, this::persistRooms);
+        LOG.infof("Room import finished: imported=%d, failed=%d, rowsPerSecond=%.0f",
+                result.imported(), result.failed(), result.rowsPerSecond());
+        return result;
+    }
+
+    private <R> ImportResult run(InputStream body, ImportFormat format, Class<R> rowType,
+                                 BiFunction<List<Row<R>>, Progress, List<Row<R>>> screen,
+                                 Consumer<List<Row<R>>> writer) {
+        long start = System.currentTimeMillis();
+        Progress progress = new Progress();
+        List<Row<R>> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            List<String> header = null;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == ImportFormat.CSV && header == null) {
+                    header = CsvUtils.parseLine(line);
+                    continue;
+                }
+
+                progress.rowsRead++;
+                try {
+                    R row = format == ImportFormat.CSV
+                            ? parseCsv(header, line, rowType)
+                            : objectMapper.readValue(line, rowType);
+                    validate(row);
+                    batch.add(new Row<>(lineNumber, row));
+                } catch (Exception e) {
+                    progress.fail(lineNumber, e.getMessage());
+                }
+
+                if (batch.size() >= batchSize) {
+                    write(screen.apply(batch, progress), writer, progress);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import body", e);
+        }
+        if (!batch.isEmpty()) {
+            write(screen.apply(batch, progress), writer, progress);
+        }
+
+        long elapsedMillis = Math.max(1, System.currentTimeMillis() - start);
+        return new ImportResult(progress.rowsRead, progress.imported, progress.failed, elapsedMillis,
+                progress.rowsRead * 1000.0 / elapsedMillis, progress.errors);
+    }
+
+    private <R> void write(List<Row<R>> batch, Consumer<List<Row<R>>> writer, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            QuarkusTransaction.requiringNew().run(() -> writer.accept(batch));
+            progress.imported += batch.size();
+            return;
+        } catch (Exception e) {
+            if (batch.size() == 1) {
+                progress.fail(batch.get(0).line(), rootMessage(e));
+                return;
+            }
+            LOG.warnf("Import batch of %d rows failed, retrying row by row: %s", batch.size(), rootMessage(e));
+        }
+        for (Row<R> row : batch) {
+            write(List.of(row), writer, progress);
+        }
+    }
+
+    private void persistHotels(List<Row<HotelImportRow>> rows) {
+        EntityManager em = hotelRepository.getEntityManager();
+        for (Row<HotelImportRow> row : rows) {
+            HotelImportRow data = row.data();
+            Hotel hotel = new Hotel();
+            hotel.name = data.name();
+            hotel.address = data.address();
+            hotel.city = data.city();
+            hotel.country = data.country();
+            hotel.starRating = data.starRating() != null ? data.starRating() : 0;
+            hotel.description = data.description();
+            hotel.latitude = data.latitude();
+            hotel.longitude = data.longitude();
+            hotel.phoneNumber = data.phoneNumber();
+            hotel.email = data.email();
+            em.persist(hotel);
+            nameSearchIndex.indexHotel(hotel);
+            geoIndex.indexHotel(hotel);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    private void persistRooms(List<Row<RoomImportRow>> rows) {
+        EntityManager em = roomRepository.getEntityManager();
+        for (Row<RoomImportRow> row : rows) {
+            RoomImportRow data = row.data();
+            Room room = new Room();
+            room.hotel = em.getReference(Hotel.class, data.hotelId());
+            room.roomNumber = data.roomNumber();
+            room.roomType = data.roomType();
+            room.pricePerNight = data.pricePerNight();
+            room.maxOccupancy = data.maxOccupancy() != null ? data.maxOccupancy() : 1;
+            room.description = data.description();
+            room.isAvailable = data.isAvailable() == null || data.isAvailable();
+            room.floorNumber = data.floorNumber() != null ? data.floorNumber() : 0;
+            em.persist(room);
+        }
+        rows.stream().map(row -> row.data().hotelId()).distinct()
+                .forEach(availabilityCacheIndex::evictHotelAfterCommit);
+        em.flush();
+        em.clear();
+    }
+
+    private List<Row<RoomImportRow>> rejectUnknownHotels(List<Row<RoomImportRow>> rows, Progress progress) {
+        Set<Long> hotelIds = rows.stream().map(row -> row.data().hotelId()).collect(Collectors.toSet());
+        Set<Long> existing = new HashSet<>(hotelRepository.findExistingIds(hotelIds));
+        if (existing.size() == hotelIds.size()) {
+            return rows;
+        }
+        List<Row<RoomImportRow>> accepted = new ArrayList<>(rows.size());
+        for (Row<RoomImportRow> row : rows) {
+            if (existing.contains(row.data().hotelId())) {
+                accepted.add(row);
+            } else {
+                progress.fail(row.line(), "Hotel not found with id: " + row.data().hotelId());
+            }
+        }
+        return accepted;
+    }
+
+    private <R> R parseCsv(List<String> header, String line, Class<R> rowType) {
+        List<String> values = CsvUtils.parseLine(line);
+        if (values.size() != header.size()) {
+            throw new BadRequestException("Expected " + header.size() + " fields but found " + values.size());
+        }
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            if (!values.get(i).isEmpty()) {
+                fields.put(header.get(i), values.get(i));
+            }
+        }
+        return objectMapper.convertValue(fields, rowType);
+    }
+
+    private <R> void validate(R row) {
+        Set<ConstraintViolation<R>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            throw new BadRequestException(violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private record Row<R>(long line, R data) {
+    }
+
+    private static final class Progress {
+
+        private long rowsRead;
+        private long imported;
+        private long failed;
+        private final List<ImportResult.RowError> errors = new ArrayList<>();
+
+        private void fail(long line, String message) {
+            failed++;
+            if (errors.size() < Constants.IMPORT_MAX_REPORTED_ERRORS) {
+                errors.add(new ImportResult.RowError(line, message));
+            }
+        }
+    }
+}
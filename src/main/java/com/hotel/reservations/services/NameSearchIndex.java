@@ -0,0 +1,176 @@
+package com.hotel.reservations.services;
+
+import com.hotel.reservations.domain.entities.Guest;
+import com.hotel.reservations.domain.entities.Hotel;
+import com.hotel.reservations.repository.GuestRepository;
+import com.hotel.reservations.repository.HotelRepository;
+import com.hotel.reservations.utils.NGramIndex;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Trigram indexes over hotel names and cities and guest first and last names,
+ * serving the search endpoints without {@code like '%x%'} table scans.
+ * <p>
+ * Both indexes are built at startup, updated on hotel and guest writes and rebuilt on
+ * {@code hotel.search.resync-interval} to pick up changes made elsewhere. Updates made
+ * inside a transaction are applied once it commits, so rolled back writes never reach
+ * the index. Until the first build completes, {@link #isReady()} is false and callers
+ * fall back to the repository.
+ */
+@ApplicationScoped
+public class NameSearchIndex {
+
+    private static final Logger LOG = Logger.getLogger(NameSearchIndex.class);
+    private static final Object PENDING_UPDATES = NameSearchIndex.class.getName() + ".pending";
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    GuestRepository guestRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    @ConfigProperty(name = "hotel.search.min-similarity")
+    double minSimilarity;
+
+    private final Object rebuildLock = new Object();
+
+    private volatile Indexes indexes;
+
+    private volatile boolean ready;
+
+    // Writes applied while a rebuild is reading the database, replayed onto the new indexes
+    private List<Consumer<Indexes>> pendingDuringRebuild;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(every = "{hotel.search.resync-interval}", delayed = "{hotel.search.resync-interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void resync() {
+        rebuild();
+    }
+
+    @Transactional
+    void rebuild() {
+        synchronized (rebuildLock) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        try {
+            Indexes fresh = new Indexes(new NGramIndex(minSimilarity), new NGramIndex(minSimilarity));
+            try (var stream = hotelRepository.streamAll()) {
+                stream.forEach(hotel -> fresh.hotels().put(hotel.id, hotel.name, hotel.city));
+            }
+            hotelRepository.getEntityManager().clear();
+            try (var stream = guestRepository.streamAll()) {
+                stream.forEach(guest -> fresh.guests().put(guest.id, guest.firstName, guest.lastName));
+            }
+
+            synchronized (rebuildLock) {
+                pendingDuringRebuild.forEach(update -> update.accept(fresh));
+                indexes = fresh;
+                ready = true;
+            }
+            LOG.infof("Name search index loaded: hotels=%d, guests=%d", fresh.hotels().size(), fresh.guests().size());
+        } catch (Exception e) {
+            LOG.errorf(e, "Failed to load name search index, falling back to database queries");
+        } finally {
+            synchronized (rebuildLock) {
+                pendingDuringRebuild = null;
+            }
+        }
+    }
+
+    public void indexHotel(Hotel hotel) {
+        Long id = hotel.id;
+        String name = hotel.name;
+        String city = hotel.city;
+        applyAfterCommit(index -> index.hotels().put(id, name, city));
+    }
+
+    public void removeHotel(Long id) {
+        applyAfterCommit(index -> index.hotels().remove(id));
+    }
+
+    public void indexGuest(Guest guest) {
+        Long id = guest.id;
+        String firstName = guest.firstName;
+        String lastName = guest.lastName;
+        applyAfterCommit(index -> index.guests().put(id, firstName, lastName));
+    }
+
+    public List<Long> searchHotels(String query, int limit) {
+        return indexes.hotels().search(query, limit);
+    }
+
+    public List<Long> searchGuests(String query, int limit) {
+        return indexes.guests().search(query, limit);
+    }
+
+    /**
+     * Applies {@code update} once the current transaction commits, or immediately when
+     * there is none. The updates of a transaction are applied together, in order.
+     */
+    private void applyAfterCommit(Consumer<Indexes> update) {
+        if (transactionRegistry.getTransactionKey() == null) {
+            apply(update);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Consumer<Indexes>> pending = (List<Consumer<Indexes>>) transactionRegistry.getResource(PENDING_UPDATES);
+        if (pending == null) {
+            List<Consumer<Indexes>> updates = new ArrayList<>();
+            transactionRegistry.putResource(PENDING_UPDATES, updates);
+            transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        updates.forEach(NameSearchIndex.this::apply);
+                    }
+                }
+            });
+            pending = updates;
+        }
+        pending.add(update);
+    }
+
+    private void apply(Consumer<Indexes> update) {
+        synchronized (rebuildLock) {
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(update);
+            }
+            Indexes current = indexes;
+            if (current != null) {
+                update.accept(current);
+            }
+        }
+    }
+
+    private record Indexes(NGramIndex hotels, NGramIndex guests) {
+    }
+}
@@ -0,0 +1,138 @@
+package com.hotel.reservations.services;
+
+import com.hotel.reservations.domain.dto.ExpiringReservation;
+import com.hotel.reservations.domain.enums.ReservationStatus;
+import com.hotel.reservations.infrastructure.config.CacheConfig;
+import com.hotel.reservations.messaging.ReservationEvent;
+import com.hotel.reservations.messaging.ReservationEventPublisher;
+import com.hotel.reservations.repository.ReservationRepository;
+import com.hotel.reservations.utils.Constants;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Expires PENDING reservations whose check-in date has passed so they stop
+ * blocking room availability.
+ * <p>
+ * The backlog is walked in keyset-paginated chunks of {@code hotel.reservation.expiry.batch-size}
+ * rows ordered by id. Each chunk is expired with one bulk update in its own transaction,
+ * its EXPIRED events are published together, and the affected read-model keys are
+ * evicted with a single cache call once the chunk has committed.
+ */
+@ApplicationScoped
+public class ReservationExpiryService {
+
+    private static final Logger LOG = Logger.getLogger(ReservationExpiryService.class);
+
+    @Inject
+    ReservationRepository reservationRepository;
+
+    @Inject
+    ReservationEventPublisher eventPublisher;
+
+    @Inject
+    CacheConfig cacheConfig;
+
+    @Inject
+    AvailabilityCacheIndex availabilityCacheIndex;
+
+    @ConfigProperty(name = "hotel.reservation.expiry.batch-size")
+    int batchSize;
+
+    @Scheduled(every = "{hotel.reservation.expiry.interval}", delayed = "{hotel.reservation.expiry.interval}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void expireStalePendingReservations() {
+        int expired = expirePendingBefore(LocalDate.now());
+        if (expired > 0) {
+            LOG.infof("Expired %d stale pending reservations", expired);
+        }
+    }
+
+    /**
+     * Expires every PENDING reservation checking in before {@code cutoff} and returns
+     * how many were expired.
+     */
+    public int expirePendingBefore(LocalDate cutoff) {
+        long afterId = 0;
+        int total = 0;
+        while (true) {
+            long lastId = afterId;
+            Chunk chunk = QuarkusTransaction.requiringNew().call(() -> expireChunk(cutoff, lastId));
+            if (chunk.candidates() == 0) {
+                return total;
+            }
+
+            evictReadModel(chunk.expired());
+            total += chunk.expired().size();
+
+            if (chunk.candidates() < batchSize) {
+                return total;
+            }
+            afterId = chunk.lastId();
+        }
+    }
+
+    private Chunk expireChunk(LocalDate cutoff, long afterId) {
+        List<ExpiringReservation> candidates = reservationRepository.findExpiredPendingAfter(cutoff, afterId, batchSize);
+        if (candidates.isEmpty()) {
+            return new Chunk(0, afterId, List.of());
+        }
+
+        List<Long> ids = candidates.stream().map(ExpiringReservation::id).toList();
+        LocalDateTime expiredAt = LocalDateTime.now();
+        reservationRepository.expirePending(ids, expiredAt);
+
+        // The update bumps the version of each row it expires, so a row is ours if it is now
+        // EXPIRED one version past the one read; rows confirmed or cancelled in between are skipped
+        Map<Long, Long> versions = reservationRepository.findExpiredVersions(ids);
+        List<ExpiringReservation> expired = candidates.stream()
+                .filter(r -> versions.containsKey(r.id()) && versions.get(r.id()) == r.version() + 1)
+                .toList();
+
+        expired.forEach(r -> availabilityCacheIndex.evictAfterCommit(r.hotelId(), r.checkInDate(), r.checkOutDate()));
+        eventPublisher.publishAll(expired.stream().map(r -> toEvent(r, expiredAt, r.version() + 1)).toList());
+        return new Chunk(candidates.size(), ids.get(ids.size() - 1), expired);
+    }
+
+    private void evictReadModel(List<ExpiringReservation> expired) {
+        List<String> keys = new ArrayList<>(expired.size() * 2);
+        for (ExpiringReservation reservation : expired) {
+            keys.add(Constants.CACHE_PREFIX_RESERVATION + reservation.id());
+            keys.add(Constants.CACHE_PREFIX_RESERVATION_CODE + reservation.confirmationCode());
+        }
+        try {
+            cacheConfig.deleteAll(keys);
+        } catch (Exception e) {
+            LOG.warnf(e, "Failed to evict %d expired reservations from cache", expired.size());
+        }
+    }
+
+    private static ReservationEvent toEvent(ExpiringReservation reservation, LocalDateTime expiredAt, Long version) {
+        return new ReservationEvent(
+                ReservationEvent.EventType.EXPIRED,
+                reservation.id(),
+                reservation.confirmationCode(),
+                reservation.guestId(),
+                reservation.guestEmail(),
+                reservation.roomId(),
+                reservation.checkInDate(),
+                reservation.checkOutDate(),
+                reservation.totalPrice(),
+                ReservationStatus.EXPIRED.name(),
+                expiredAt,
+                version);
+    }
+
+    private record Chunk(int candidates, long lastId, List<ExpiringReservation> expired) {
+    }
+}
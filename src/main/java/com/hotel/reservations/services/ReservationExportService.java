@@ -0,0 +1,81 @@
+package com.hotel.reservations.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.reservations.domain.entities.Reservation;
+import com.hotel.reservations.mappers.ReservationMapper;
+import com.hotel.reservations.repository.ReservationRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes reservations as NDJSON (one {@code ReservationDto} per line) straight to an
+ * output stream. Rows are read through a forward-only stream and the persistence
+ * context is cleared every {@code hotel.export.fetch-size} rows, so memory use does
+ * not grow with the size of the export.
+ */
+@ApplicationScoped
+public class ReservationExportService {
+
+    private static final Logger LOG = Logger.getLogger(ReservationExportService.class);
+
+    @Inject
+    ReservationRepository reservationRepository;
+
+    @Inject
+    ReservationMapper reservationMapper;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "hotel.export.fetch-size")
+    int fetchSize;
+
+    @ConfigProperty(name = "hotel.export.timeout-seconds")
+    int timeoutSeconds;
+
+    public long exportNdjson(Long hotelId, LocalDate checkInFrom, LocalDate checkInTo, OutputStream out) {
+        long start = System.currentTimeMillis();
+        long rows = QuarkusTransaction.requiringNew()
+                .timeout(timeoutSeconds)
+                .call(() -> writeRows(hotelId, checkInFrom, checkInTo, out));
+        LOG.infof("Reservation export finished: hotelId=%s, from=%s, to=%s, rows=%d, elapsedMs=%d",
+                hotelId, checkInFrom, checkInTo, rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private long writeRows(Long hotelId, LocalDate checkInFrom, LocalDate checkInTo, OutputStream out) {
+        EntityManager em = reservationRepository.getEntityManager();
+        long rows = 0;
+        try (Stream<Reservation> reservations = reservationRepository.streamForExport(hotelId, checkInFrom, checkInTo, fetchSize);
+             JsonGenerator generator = objectMapper.createGenerator(out)) {
+            // The caller owns the output stream, it may still need to finish a gzip trailer
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Reservation> iterator = reservations.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(reservationMapper.toDto(iterator.next()));
+                generator.writeRaw('\n');
+                if (++rows % fetchSize == 0) {
+                    em.clear();
+                    generator.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write reservation export after " + rows + " rows", e);
+        }
+        return rows;
+    }
+}
@@ -1,9 +1,13 @@
 package com.hotel.reservations.services;
 
+import com.hotel.reservations.domain.dto.CreateGroupReservationRequest;
 import com.hotel.reservations.domain.dto.CreateReservationRequest;
+import com.hotel.reservations.domain.dto.CursorPage;
+import com.hotel.reservations.domain.dto.ReservationDto;
 import com.hotel.reservations.domain.dto.UpdateReservationRequest;
 import com.hotel.reservations.domain.dto.WeatherDto;
 import com.hotel.reservations.domain.entities.Guest;
+import com.hotel.reservations.domain.entities.Hotel;
 import com.hotel.reservations.domain.entities.Reservation;
 import com.hotel.reservations.domain.entities.Room;
 import com.hotel.reservations.domain.enums.PaymentStatus;
@@ -11,9 +15,12 @@ import com.hotel.reservations.domain.enums.ReservationStatus;
 import com.hotel.reservations.infrastructure.config.CacheConfig;
 import com.hotel.reservations.infrastructure.config.HotelConfig;
 import com.hotel.reservations.infrastructure.exceptions.InvalidDateRangeException;
+import com.hotel.reservations.infrastructure.exceptions.InvalidGroupBookingException;
 import com.hotel.reservations.infrastructure.exceptions.ReservationNotFoundException;
 import com.hotel.reservations.infrastructure.exceptions.RoomNotAvailableException;
 import com.hotel.reservations.infrastructure.exceptions.WeatherCheckFailedException;
+import com.hotel.reservations.infrastructure.metrics.Instrumented;
+import com.hotel.reservations.mappers.ReservationMapper;
 import com.hotel.reservations.messaging.ReservationEvent;
 import com.hotel.reservations.messaging.ReservationEventPublisher;
 import com.hotel.reservations.repository.GuestRepository;
@@ -21,8 +28,11 @@ import com.hotel.reservations.repository.ReservationRepository;
 import com.hotel.reservations.repository.RoomRepository;
 import com.hotel.reservations.utils.ConfirmationCodeGenerator;
 import com.hotel.reservations.utils.Constants;
+import com.hotel.reservations.utils.CursorCodec;
 import com.hotel.reservations.utils.DateUtils;
 import com.hotel.reservations.utils.PriceCalculator;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -30,10 +40,18 @@ import jakarta.ws.rs.NotFoundException;
 import org.jboss.logging.Logger;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @ApplicationScoped
+@Instrumented
 public class ReservationService {
 
     private static final Logger LOG = Logger.getLogger(ReservationService.class);
@@ -59,67 +77,171 @@ public class ReservationService {
     @Inject
     HotelConfig hotelConfig;
 
-    @Transactional
+    @Inject
+    ReservationMapper reservationMapper;
+
+    @Inject
+    BookingEngine bookingEngine;
+
+    @Inject
+    AvailabilityCacheIndex availabilityCacheIndex;
+
+    /**
+     * Books a room in three stages so the database connection is only held for the
+     * overlap check and insert:
+     * <ol>
+     *     <li>validate the request and load the room with its hotel (no transaction)</li>
+     *     <li>run the weather lookup on a worker thread while the guest is loaded</li>
+     *     <li>check for overlaps and persist on the hotel's {@link BookingEngine} writer</li>
+     * </ol>
+     */
     public Reservation createReservation(CreateReservationRequest request) {
-        if (!DateUtils.isDateRangeValid(request.checkInDate(), request.checkOutDate())) {
-            throw new InvalidDateRangeException("Check-out date must be after check-in date");
-        }
+        validateDateRange(request.checkInDate(), request.checkOutDate());
 
-        if (!DateUtils.isWithinMaxDays(request.checkInDate(), request.checkOutDate(), hotelConfig.getMaxReservationDays())) {
-            throw new InvalidDateRangeException(
-                    "Reservation exceeds maximum allowed duration of " + hotelConfig.getMaxReservationDays() + " days");
-        }
+        Room room = roomRepository.findByIdWithHotel(request.roomId())
+                .orElseThrow(() -> new NotFoundException("Room not found with id: " + request.roomId()));
+
+        CompletableFuture<WeatherDto> weatherCheck = Uni.createFrom()
+                .item(() -> weatherService.checkWeather(room.hotel.latitude, room.hotel.longitude, request.checkInDate()))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .subscribeAsCompletionStage();
 
         Guest guest = guestRepository.findById(request.guestId());
         if (guest == null) {
+            weatherCheck.cancel(false);
             throw new NotFoundException("Guest not found with id: " + request.guestId());
         }
 
-        Room room = roomRepository.findById(request.roomId());
-        if (room == null) {
-            throw new NotFoundException("Room not found with id: " + request.roomId());
+        String weatherSummary = requireSuitableWeather(weatherCheck);
+
+        Reservation created = bookingEngine.submit(room.hotel.id, booking -> {
+            if (booking.isBooked(room.id, request.checkInDate(), request.checkOutDate(), null)) {
+                throw new RoomNotAvailableException(room.id.toString());
+            }
+            // Built inside the command so a retried batch persists a fresh entity
+            Reservation reservation = newReservation(guest, room, request.checkInDate(), request.checkOutDate(),
+                    request.numberOfGuests(), request.specialRequests(), weatherSummary);
+            reservationRepository.persist(reservation);
+            booking.hold(room.id, reservation.id, reservation.checkInDate, reservation.checkOutDate);
+            availabilityCacheIndex.evictAfterCommit(room.hotel.id, reservation.checkInDate, reservation.checkOutDate);
+            publishEvent(ReservationEvent.EventType.CREATED, reservation);
+            return reservation;
+        });
+        LOG.infof("Reservation created: id=%d, code=%s", created.id, created.confirmationCode);
+
+        return created;
+    }
+
+    /**
+     * Books several rooms of one hotel for the same stay as a single unit: either
+     * every room is reserved or none is. Availability of all rooms is checked at once,
+     * the weather is checked once for the hotel and all reservations are inserted in
+     * one transaction.
+     */
+    public List<Reservation> createGroupReservation(CreateGroupReservationRequest request) {
+        validateDateRange(request.checkInDate(), request.checkOutDate());
+
+        Set<Long> roomIds = new LinkedHashSet<>(request.roomIds());
+        if (roomIds.size() != request.roomIds().size()) {
+            throw new InvalidGroupBookingException("Each room can only be booked once per group reservation");
+        }
+        if (roomIds.size() > hotelConfig.getMaxRoomsPerBooking()) {
+            throw new InvalidGroupBookingException(
+                    "Group reservation exceeds maximum of " + hotelConfig.getMaxRoomsPerBooking() + " rooms");
         }
 
-        List<Reservation> overlapping = reservationRepository.findOverlapping(
-                room.id, request.checkInDate(), request.checkOutDate());
-        if (!overlapping.isEmpty()) {
-            throw new RoomNotAvailableException(room.id.toString());
+        List<Room> rooms = roomRepository.findByIdsWithHotel(roomIds);
+        if (rooms.size() != roomIds.size()) {
+            Set<Long> missing = new LinkedHashSet<>(roomIds);
+            rooms.forEach(room -> missing.remove(room.id));
+            throw new NotFoundException("Rooms not found with ids: " + missing);
+        }
+        Hotel hotel = rooms.get(0).hotel;
+        if (rooms.stream().anyMatch(room -> !room.hotel.id.equals(hotel.id))) {
+            throw new InvalidGroupBookingException("All rooms of a group reservation must belong to the same hotel");
         }
 
-        WeatherDto weather = weatherService.checkWeather(
-                room.hotel.latitude, room.hotel.longitude, request.checkInDate());
-        if (!weather.isSuitableForTravel()) {
-            throw new WeatherCheckFailedException(
-                    "Weather is not suitable for travel: " + weather.weatherDescription()
-                            + " (temp: " + String.format("%.1f", weather.temperature())
-                            + "°C, wind: " + String.format("%.1f", weather.windSpeed()) + " km/h)");
+        CompletableFuture<WeatherDto> weatherCheck = Uni.createFrom()
+                .item(() -> weatherService.checkWeather(hotel.latitude, hotel.longitude, request.checkInDate()))
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .subscribeAsCompletionStage();
+
+        Guest guest = guestRepository.findById(request.guestId());
+        if (guest == null) {
+            weatherCheck.cancel(false);
+            throw new NotFoundException("Guest not found with id: " + request.guestId());
         }
 
-        BigDecimal totalPrice = PriceCalculator.calculateTotalPrice(
-                room.pricePerNight, request.checkInDate(), request.checkOutDate());
+        String weatherSummary = requireSuitableWeather(weatherCheck);
+
+        List<Reservation> created = bookingEngine.submit(hotel.id, booking -> {
+            Set<Long> booked = booking.findBooked(roomIds, request.checkInDate(), request.checkOutDate());
+            if (!booked.isEmpty()) {
+                throw new RoomNotAvailableException(booked.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+            }
+            List<Reservation> reservations = new ArrayList<>(rooms.size());
+            for (Room room : rooms) {
+                Reservation reservation = newReservation(guest, room, request.checkInDate(), request.checkOutDate(),
+                        request.guestsPerRoom(), request.specialRequests(), weatherSummary);
+                reservationRepository.persist(reservation);
+                booking.hold(room.id, reservation.id, reservation.checkInDate, reservation.checkOutDate);
+                publishEvent(ReservationEvent.EventType.CREATED, reservation);
+                reservations.add(reservation);
+            }
+            availabilityCacheIndex.evictAfterCommit(hotel.id, request.checkInDate(), request.checkOutDate());
+            return reservations;
+        });
+        LOG.infof("Group reservation created: hotelId=%d, rooms=%d, codes=%s", hotel.id, created.size(),
+                created.stream().map(r -> r.confirmationCode).toList());
+
+        return created;
+    }
 
+    private Reservation newReservation(Guest guest, Room room, LocalDate checkIn, LocalDate checkOut,
+                                       int numberOfGuests, String specialRequests, String weatherSummary) {
         Reservation reservation = new Reservation();
         reservation.confirmationCode = ConfirmationCodeGenerator.generate();
-        reservation.checkInDate = request.checkInDate();
-        reservation.checkOutDate = request.checkOutDate();
-        reservation.numberOfGuests = request.numberOfGuests();
-        reservation.totalPrice = totalPrice;
+        reservation.checkInDate = checkIn;
+        reservation.checkOutDate = checkOut;
+        reservation.numberOfGuests = numberOfGuests;
+        reservation.totalPrice = PriceCalculator.calculateTotalPrice(room.pricePerNight, checkIn, checkOut);
         reservation.status = ReservationStatus.PENDING;
         reservation.paymentStatus = PaymentStatus.PENDING;
-        reservation.specialRequests = request.specialRequests();
+        reservation.specialRequests = specialRequests;
         reservation.weatherChecked = true;
-        reservation.weatherSummary = weather.weatherDescription()
-                + " | Temp: " + String.format("%.1f", weather.temperature())
-                + "°C | Wind: " + String.format("%.1f", weather.windSpeed()) + " km/h";
+        reservation.weatherSummary = weatherSummary;
         reservation.guest = guest;
         reservation.room = room;
+        return reservation;
+    }
 
-        reservationRepository.persist(reservation);
-        LOG.infof("Reservation created: id=%d, code=%s", reservation.id, reservation.confirmationCode);
+    private void validateDateRange(LocalDate checkIn, LocalDate checkOut) {
+        if (!DateUtils.isDateRangeValid(checkIn, checkOut)) {
+            throw new InvalidDateRangeException("Check-out date must be after check-in date");
+        }
 
-        publishEvent(ReservationEvent.EventType.CREATED, reservation);
+        if (!DateUtils.isWithinMaxDays(checkIn, checkOut, hotelConfig.getMaxReservationDays())) {
+            throw new InvalidDateRangeException(
+                    "Reservation exceeds maximum allowed duration of " + hotelConfig.getMaxReservationDays() + " days");
+        }
+    }
 
-        return reservation;
+    /**
+     * Waits for the weather lookup and returns its summary for the reservation,
+     * rejecting the booking if the weather is not suitable for travel.
+     */
+    private String requireSuitableWeather(CompletableFuture<WeatherDto> weatherCheck) {
+        WeatherDto weather = awaitWeather(weatherCheck);
+        if (!weather.isSuitableForTravel()) {
+            throw new WeatherCheckFailedException(
+                    "Weather is not suitable for travel: " + weather.weatherDescription()
+                            + " (temp: " + String.format("%.1f", weather.temperature())
+                            + "°C, wind: " + String.format("%.1f", weather.windSpeed()) + " km/h)");
+        }
+
+        return weather.weatherDescription()
+                + " | Temp: " + String.format("%.1f", weather.temperature())
+                + "°C | Wind: " + String.format("%.1f", weather.windSpeed()) + " km/h";
     }
 
     @Transactional
@@ -127,28 +249,32 @@ public class ReservationService {
         Reservation reservation = findById(id);
         reservation.status = ReservationStatus.CONFIRMED;
         reservationRepository.persist(reservation);
-        cacheConfig.delete(Constants.CACHE_PREFIX_RESERVATION + id);
+        evictReadModel(reservation);
         LOG.infof("Reservation confirmed: id=%d, code=%s", id, reservation.confirmationCode);
 
         publishEvent(ReservationEvent.EventType.CONFIRMED, reservation);
         return reservation;
     }
 
-    @Transactional
     public Reservation cancelReservation(Long id) {
-        Reservation reservation = findById(id);
-        reservation.status = ReservationStatus.CANCELLED;
-
-        BigDecimal refund = PriceCalculator.calculateRefundAmount(
-                reservation.totalPrice, reservation.checkInDate, hotelConfig.getCancellationHoursBefore());
-        reservation.totalPrice = refund;
-
-        reservationRepository.persist(reservation);
-        cacheConfig.delete(Constants.CACHE_PREFIX_RESERVATION + id);
-        LOG.infof("Reservation cancelled: id=%d, code=%s, refund=%s", id, reservation.confirmationCode, refund);
-
-        publishEvent(ReservationEvent.EventType.CANCELLED, reservation);
-        return reservation;
+        return bookingEngine.submit(findHotelId(id), booking -> {
+            Reservation reservation = findByIdWithDetails(id);
+            reservation.status = ReservationStatus.CANCELLED;
+
+            BigDecimal refund = PriceCalculator.calculateRefundAmount(
+                    reservation.totalPrice, reservation.checkInDate, hotelConfig.getCancellationHoursBefore());
+            reservation.totalPrice = refund;
+
+            reservationRepository.persist(reservation);
+            booking.release(id);
+            evictReadModel(reservation);
+            availabilityCacheIndex.evictAfterCommit(reservation.room.hotel.id,
+                    reservation.checkInDate, reservation.checkOutDate);
+            LOG.infof("Reservation cancelled: id=%d, code=%s, refund=%s", id, reservation.confirmationCode, refund);
+
+            publishEvent(ReservationEvent.EventType.CANCELLED, reservation);
+            return reservation;
+        });
     }
 
     @Transactional
@@ -156,7 +282,7 @@ public class ReservationService {
         Reservation reservation = findById(id);
         reservation.status = ReservationStatus.CHECKED_IN;
         reservationRepository.persist(reservation);
-        cacheConfig.delete(Constants.CACHE_PREFIX_RESERVATION + id);
+        evictReadModel(reservation);
         LOG.infof("Guest checked in: reservationId=%d, code=%s", id, reservation.confirmationCode);
 
         publishEvent(ReservationEvent.EventType.CHECKED_IN, reservation);
@@ -168,7 +294,7 @@ public class ReservationService {
         Reservation reservation = findById(id);
         reservation.status = ReservationStatus.CHECKED_OUT;
         reservationRepository.persist(reservation);
-        cacheConfig.delete(Constants.CACHE_PREFIX_RESERVATION + id);
+        evictReadModel(reservation);
         LOG.infof("Guest checked out: reservationId=%d, code=%s", id, reservation.confirmationCode);
 
         publishEvent(ReservationEvent.EventType.CHECKED_OUT, reservation);
@@ -176,19 +302,10 @@ public class ReservationService {
     }
 
     public Reservation findById(Long id) {
-        String cacheKey = Constants.CACHE_PREFIX_RESERVATION + id;
-        var cached = cacheConfig.getObject(cacheKey, Reservation.class);
-        if (cached.isPresent()) {
-            return cached.get();
-        }
-
         Reservation reservation = reservationRepository.findById(id);
         if (reservation == null) {
             throw new ReservationNotFoundException(id.toString());
         }
-
-        long ttl = (long) hotelConfig.getCacheTtlMinutes() * 60;
-        cacheConfig.putObject(cacheKey, reservation, ttl);
         return reservation;
     }
 
@@ -197,52 +314,121 @@ public class ReservationService {
                 .orElseThrow(() -> new ReservationNotFoundException(code));
     }
 
+    /**
+     * Returns the flattened read model of a reservation. Cached values need no
+     * database access; on a miss the reservation is loaded with its guest, room
+     * and hotel in a single query and cached under both its id and confirmation code.
+     */
+    public ReservationDto findDtoById(Long id) {
+        long ttl = (long) hotelConfig.getCacheTtlMinutes() * 60;
+        return cacheConfig.getOrLoad(Constants.CACHE_PREFIX_RESERVATION + id, ReservationDto.class, ttl, () -> {
+            ReservationDto dto = reservationMapper.toDto(reservationRepository.findByIdWithDetails(id)
+                    .orElseThrow(() -> new ReservationNotFoundException(id.toString())));
+            cacheConfig.putObject(Constants.CACHE_PREFIX_RESERVATION_CODE + dto.confirmationCode(), dto, ttl);
+            return dto;
+        });
+    }
+
+    public ReservationDto findDtoByConfirmationCode(String code) {
+        long ttl = (long) hotelConfig.getCacheTtlMinutes() * 60;
+        return cacheConfig.getOrLoad(Constants.CACHE_PREFIX_RESERVATION_CODE + code, ReservationDto.class, ttl, () -> {
+            ReservationDto dto = reservationMapper.toDto(reservationRepository.findByConfirmationCodeWithDetails(code)
+                    .orElseThrow(() -> new ReservationNotFoundException(code)));
+            cacheConfig.putObject(Constants.CACHE_PREFIX_RESERVATION + dto.id(), dto, ttl);
+            return dto;
+        });
+    }
+
     public List<Reservation> findByGuestId(Long guestId) {
-        return reservationRepository.findByGuestId(guestId);
+        return reservationRepository.findByGuestIdWithDetails(guestId);
+    }
+
+    public CursorPage<Reservation> findByGuestId(Long guestId, String after, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<Reservation> reservations = reservationRepository.findByGuestIdWithDetailsAfter(
+                guestId, CursorCodec.decode(after), pageSize + 1);
+        return CursorPage.of(reservations, pageSize, reservation -> reservation.id);
     }
 
-    @Transactional
     public Reservation updateReservation(Long id, UpdateReservationRequest request) {
-        Reservation reservation = findById(id);
+        boolean datesChanged = request.checkInDate() != null && request.checkOutDate() != null;
+        if (datesChanged) {
+            validateDateRange(request.checkInDate(), request.checkOutDate());
+        }
 
-        if (request.checkInDate() != null && request.checkOutDate() != null) {
-            if (!DateUtils.isDateRangeValid(request.checkInDate(), request.checkOutDate())) {
-                throw new InvalidDateRangeException("Check-out date must be after check-in date");
-            }
-            if (!DateUtils.isWithinMaxDays(request.checkInDate(), request.checkOutDate(), hotelConfig.getMaxReservationDays())) {
-                throw new InvalidDateRangeException(
-                        "Reservation exceeds maximum allowed duration of " + hotelConfig.getMaxReservationDays() + " days");
+        return bookingEngine.submit(findHotelId(id), booking -> {
+            Reservation reservation = findByIdWithDetails(id);
+
+            if (datesChanged) {
+                if (booking.isBooked(reservation.room.id, request.checkInDate(), request.checkOutDate(), id)) {
+                    throw new RoomNotAvailableException(reservation.room.id.toString());
+                }
+
+                // Both the released and the newly held nights change availability
+                availabilityCacheIndex.evictAfterCommit(reservation.room.hotel.id,
+                        reservation.checkInDate, reservation.checkOutDate);
+                availabilityCacheIndex.evictAfterCommit(reservation.room.hotel.id,
+                        request.checkInDate(), request.checkOutDate());
+                reservation.checkInDate = request.checkInDate();
+                reservation.checkOutDate = request.checkOutDate();
+                reservation.totalPrice = PriceCalculator.calculateTotalPrice(
+                        reservation.room.pricePerNight, request.checkInDate(), request.checkOutDate());
+                booking.release(id);
+                booking.hold(reservation.room.id, id, reservation.checkInDate, reservation.checkOutDate);
             }
 
-            List<Reservation> overlapping = reservationRepository.findOverlapping(
-                    reservation.room.id, request.checkInDate(), request.checkOutDate());
-            overlapping.removeIf(r -> r.id.equals(id));
-            if (!overlapping.isEmpty()) {
-                throw new RoomNotAvailableException(reservation.room.id.toString());
+            if (request.numberOfGuests() != null) {
+                reservation.numberOfGuests = request.numberOfGuests();
+            }
+            if (request.specialRequests() != null) {
+                reservation.specialRequests = request.specialRequests();
             }
 
-            reservation.checkInDate = request.checkInDate();
-            reservation.checkOutDate = request.checkOutDate();
-            reservation.totalPrice = PriceCalculator.calculateTotalPrice(
-                    reservation.room.pricePerNight, request.checkInDate(), request.checkOutDate());
-        }
+            reservationRepository.persist(reservation);
+            evictReadModel(reservation);
+            LOG.infof("Reservation updated: id=%d, code=%s", id, reservation.confirmationCode);
 
-        if (request.numberOfGuests() != null) {
-            reservation.numberOfGuests = request.numberOfGuests();
-        }
-        if (request.specialRequests() != null) {
-            reservation.specialRequests = request.specialRequests();
-        }
+            publishEvent(ReservationEvent.EventType.UPDATED, reservation);
+            return reservation;
+        });
+    }
 
-        reservationRepository.persist(reservation);
-        cacheConfig.delete(Constants.CACHE_PREFIX_RESERVATION + id);
-        LOG.infof("Reservation updated: id=%d, code=%s", id, reservation.confirmationCode);
+    private Long findHotelId(Long reservationId) {
+        return reservationRepository.findHotelIdByReservationId(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundException(reservationId.toString()));
+    }
 
-        publishEvent(ReservationEvent.EventType.UPDATED, reservation);
-        return reservation;
+    private Reservation findByIdWithDetails(Long id) {
+        return reservationRepository.findByIdWithDetails(id)
+                .orElseThrow(() -> new ReservationNotFoundException(id.toString()));
+    }
+
+    private WeatherDto awaitWeather(CompletableFuture<WeatherDto> weatherCheck) {
+        try {
+            return weatherCheck.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Evicts the cached DTOs of the reservation once the change commits, so a concurrent
+     * read cannot cache the row as it was before the change.
+     */
+    private void evictReadModel(Reservation reservation) {
+        cacheConfig.deleteAllAfterCommit(List.of(
+                Constants.CACHE_PREFIX_RESERVATION + reservation.id,
+                Constants.CACHE_PREFIX_RESERVATION_CODE + reservation.confirmationCode));
     }
 
     private void publishEvent(ReservationEvent.EventType eventType, Reservation reservation) {
+        if (eventType != ReservationEvent.EventType.CREATED) {
+            // Assigns the version the change commits with; new reservations get theirs on persist
+            reservationRepository.flush();
+        }
         ReservationEvent event = new ReservationEvent(
                 eventType,
                 reservation.id,
@@ -254,7 +440,8 @@ public class ReservationService {
                 reservation.checkOutDate,
                 reservation.totalPrice,
                 reservation.status.name(),
-                LocalDateTime.now());
+                LocalDateTime.now(),
+                reservation.version);
         eventPublisher.publish(event);
     }
 }
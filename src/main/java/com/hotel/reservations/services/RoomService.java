@@ -1,24 +1,62 @@
 package com.hotel.reservations.services;
 
+import com.hotel.reservations.domain.dto.AvailabilityCalendarDto;
+import com.hotel.reservations.domain.dto.AvailabilitySearchDto;
+import com.hotel.reservations.domain.dto.CursorPage;
+import com.hotel.reservations.domain.dto.RoomDto;
+import com.hotel.reservations.domain.entities.Reservation;
 import com.hotel.reservations.domain.entities.Room;
+import com.hotel.reservations.domain.enums.RoomType;
 import com.hotel.reservations.infrastructure.config.CacheConfig;
+import com.hotel.reservations.infrastructure.exceptions.InvalidDateRangeException;
+import com.hotel.reservations.infrastructure.metrics.Instrumented;
+import com.hotel.reservations.mappers.RoomMapper;
 import com.hotel.reservations.repository.HotelRepository;
+import com.hotel.reservations.repository.ReservationRepository;
 import com.hotel.reservations.repository.RoomRepository;
 import com.hotel.reservations.utils.Constants;
+import com.hotel.reservations.utils.CursorCodec;
+import com.hotel.reservations.utils.DateUtils;
+import com.hotel.reservations.utils.DayBitSet;
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ManagedContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
+import jakarta.ws.rs.BadRequestException;
 import jakarta.ws.rs.NotFoundException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 @ApplicationScoped
+@Instrumented
 public class RoomService {
 
     private static final Logger LOG = Logger.getLogger(RoomService.class);
+    private static final Comparator<Room> BY_PRICE = Comparator.comparing((Room room) -> room.pricePerNight)
+            .thenComparing(room -> room.id);
+    private static final long AVAILABILITY_TTL_SECONDS = 300;
 
     @Inject
     RoomRepository roomRepository;
@@ -29,36 +67,254 @@ public class RoomService {
     @Inject
     CacheConfig cacheConfig;
 
+    @Inject
+    ReservationRepository reservationRepository;
+
+    @Inject
+    AvailabilityIndex availabilityIndex;
+
+    @Inject
+    AvailabilityCacheIndex availabilityCacheIndex;
+
+    @Inject
+    RoomMapper roomMapper;
+
+    @ConfigProperty(name = "hotel.availability.calendar-max-days")
+    int calendarMaxDays;
+
+    @ConfigProperty(name = "hotel.availability.search.concurrency")
+    int searchConcurrency;
+
+    @ConfigProperty(name = "hotel.availability.search.deadline-ms")
+    long searchDeadlineMillis;
+
+    @ConfigProperty(name = "hotel.availability.search.max-hotels")
+    int searchMaxHotels;
+
+    @ConfigProperty(name = "hotel.availability.search.max-results")
+    int searchMaxResults;
+
+    private ExecutorService searchExecutor;
+
+    @PostConstruct
+    void init() {
+        searchExecutor = Executors.newFixedThreadPool(searchConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "availability-search");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        searchExecutor.shutdownNow();
+    }
+
     public List<Room> findByHotelId(Long hotelId) {
-        return roomRepository.findByHotelId(hotelId);
+        return roomRepository.findByHotelIdWithHotel(hotelId);
+    }
+
+    public CursorPage<Room> findByHotelId(Long hotelId, String after, int size) {
+        int pageSize = CursorPage.clampSize(size);
+        List<Room> rooms = roomRepository.findByHotelIdWithHotelAfter(hotelId, CursorCodec.decode(after), pageSize + 1);
+        return CursorPage.of(rooms, pageSize, room -> room.id);
     }
 
     public List<Room> findAvailableRooms(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
-        String cacheKey = Constants.CACHE_PREFIX_AVAILABILITY + hotelId + ":" + checkIn + ":" + checkOut;
-        Optional<Room[]> cached = cacheConfig.getObject(cacheKey, Room[].class);
-        if (cached.isPresent()) {
-            return List.of(cached.get());
+        String cacheKey = AvailabilityCacheIndex.cacheKey(hotelId, checkIn, checkOut);
+        // Generation seen by this caller's load, if it was the one to load the entry
+        AtomicLong loadedAt = new AtomicLong(Long.MIN_VALUE);
+        Room[] rooms = cacheConfig.getOrLoad(cacheKey, Room[].class, AVAILABILITY_TTL_SECONDS, () -> {
+            loadedAt.set(availabilityCacheIndex.register(hotelId, checkIn, checkOut, AVAILABILITY_TTL_SECONDS));
+            return loadAvailableRooms(hotelId, checkIn, checkOut).toArray(new Room[0]);
+        });
+        if (loadedAt.get() != Long.MIN_VALUE) {
+            availabilityCacheIndex.discardIfEvicted(hotelId, cacheKey, loadedAt.get());
         }
+        return List.of(rooms);
+    }
 
-        List<Room> rooms = roomRepository.findAvailableRooms(hotelId, checkIn, checkOut);
-        cacheConfig.putObject(cacheKey, rooms.toArray(new Room[0]), 300);
-        return rooms;
+    /**
+     * Searches the hotels of {@code city}, or the given hotel ids, for rooms free over
+     * the stay and returns the {@code limit} cheapest. Hotels are searched in parallel
+     * on a pool of {@code hotel.availability.search.concurrency} threads. Hotels that
+     * have not answered within {@code hotel.availability.search.deadline-ms} are left
+     * out of the result instead of delaying it.
+     */
+    public AvailabilitySearchDto searchAvailability(String city, List<Long> hotelIds,
+                                                    LocalDate checkIn, LocalDate checkOut, int limit) {
+        if (!DateUtils.isDateRangeValid(checkIn, checkOut)) {
+            throw new InvalidDateRangeException("Check-out date must be after check-in date");
+        }
+        List<Long> ids;
+        if (hotelIds != null && !hotelIds.isEmpty()) {
+            ids = hotelIds.stream().distinct().toList();
+        } else if (city != null && !city.isBlank()) {
+            ids = hotelRepository.findIdsByCity(city);
+        } else {
+            throw new BadRequestException("Either city or hotelIds is required");
+        }
+        if (ids.size() > searchMaxHotels) {
+            throw new BadRequestException("Search spans " + ids.size() + " hotels, at most "
+                    + searchMaxHotels + " are allowed");
+        }
+        int topK = Math.max(1, Math.min(limit, searchMaxResults));
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchDeadlineMillis);
+
+        Map<Long, CompletableFuture<List<Room>>> searches = new LinkedHashMap<>();
+        for (Long hotelId : ids) {
+            searches.put(hotelId, CompletableFuture.supplyAsync(
+                    () -> cheapestAvailable(hotelId, checkIn, checkOut, topK), searchExecutor));
+        }
+        try {
+            CompletableFuture.allOf(searches.values().toArray(new CompletableFuture<?>[0]))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Late and failed hotels are counted below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<Room> rooms = new ArrayList<>();
+        int skipped = 0;
+        for (Map.Entry<Long, CompletableFuture<List<Room>>> search : searches.entrySet()) {
+            CompletableFuture<List<Room>> future = search.getValue();
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                rooms.addAll(future.join());
+            } else {
+                // Cancelling a queued search keeps it from running at all
+                future.cancel(false);
+                skipped++;
+            }
+        }
+        if (skipped > 0) {
+            LOG.warnf("Availability search skipped %d of %d hotels (deadline %d ms)",
+                    skipped, ids.size(), searchDeadlineMillis);
+        }
+
+        List<RoomDto> cheapest = rooms.stream()
+                .sorted(BY_PRICE)
+                .limit(topK)
+                .map(roomMapper::toDto)
+                .toList();
+        return new AvailabilitySearchDto(checkIn, checkOut, ids.size() - skipped, skipped, cheapest);
     }
 
-    public Room findById(Long id) {
-        String cacheKey = Constants.CACHE_PREFIX_ROOM + id;
-        Optional<Room> cached = cacheConfig.getObject(cacheKey, Room.class);
-        if (cached.isPresent()) {
-            return cached.get();
+    private List<Room> cheapestAvailable(Long hotelId, LocalDate checkIn, LocalDate checkOut, int limit) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        requestContext.activate();
+        try {
+            return findAvailableRooms(hotelId, checkIn, checkOut).stream()
+                    .sorted(BY_PRICE)
+                    .limit(limit)
+                    .toList();
+        } catch (RuntimeException e) {
+            LOG.warnf(e, "Availability search failed for hotel: %d", hotelId);
+            throw e;
+        } finally {
+            requestContext.terminate();
         }
+    }
 
-        Room room = roomRepository.findById(id);
-        if (room == null) {
-            throw new NotFoundException("Room not found with id: " + id);
+    private List<Room> loadAvailableRooms(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        if (!availabilityIndex.isReady()) {
+            return roomRepository.findAvailableRooms(hotelId, checkIn, checkOut);
         }
+        List<Room> rooms = roomRepository.findByHotelIdWithHotel(hotelId);
+        Set<Long> occupied = availabilityIndex.findOccupied(rooms.stream().map(r -> r.id).toList(), checkIn, checkOut);
+        return rooms.stream().filter(r -> !occupied.contains(r.id)).toList();
+    }
 
-        cacheConfig.putObject(cacheKey, room, 600);
-        return room;
+    /**
+     * Returns the number of bookable rooms free for the whole stay per hotel; hotels
+     * without any are absent from the result.
+     */
+    public Map<Long, Integer> countAvailableRooms(Collection<Long> hotelIds, LocalDate checkIn, LocalDate checkOut) {
+        if (hotelIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Room> rooms = roomRepository.findAvailableByHotelIds(hotelIds);
+        List<Long> roomIds = rooms.stream().map(r -> r.id).toList();
+        Set<Long> occupied = availabilityIndex.isReady()
+                ? availabilityIndex.findOccupied(roomIds, checkIn, checkOut)
+                : new HashSet<>(reservationRepository.findBookedRoomIds(roomIds, checkIn, checkOut));
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (Room room : rooms) {
+            if (!occupied.contains(room.id)) {
+                counts.merge(room.hotel.id, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the free bookable rooms of a hotel per room type for every night of
+     * {@code [from, to)}. Each room's occupancy over the window is read as a day bitset,
+     * from the availability index or, until it is loaded, from a single reservation query.
+     */
+    public AvailabilityCalendarDto getAvailabilityCalendar(Long hotelId, LocalDate from, LocalDate to) {
+        if (!DateUtils.isDateRangeValid(from, to)) {
+            throw new InvalidDateRangeException("End date must be after start date");
+        }
+        int days = (int) DateUtils.daysBetween(from, to);
+        if (days > calendarMaxDays) {
+            throw new InvalidDateRangeException("Calendar window cannot exceed " + calendarMaxDays + " days");
+        }
+        if (hotelRepository.findByIdOptional(hotelId).isEmpty()) {
+            throw new NotFoundException("Hotel not found with id: " + hotelId);
+        }
+
+        List<Room> rooms = roomRepository.findAvailableByHotelIds(List.of(hotelId));
+        Map<Long, long[]> occupied = occupiedNights(rooms, from, to, days);
+
+        Map<RoomType, int[]> free = new EnumMap<>(RoomType.class);
+        Map<RoomType, Integer> totals = new EnumMap<>(RoomType.class);
+        for (Room room : rooms) {
+            int[] counts = free.computeIfAbsent(room.roomType, type -> new int[days]);
+            totals.merge(room.roomType, 1, Integer::sum);
+            long[] nights = occupied.get(room.id);
+            for (int i = 0; i < days; i++) {
+                if (!DayBitSet.isSet(nights, i)) {
+                    counts[i]++;
+                }
+            }
+        }
+
+        List<AvailabilityCalendarDto.RoomTypeAvailability> roomTypes = free.entrySet().stream()
+                .map(e -> new AvailabilityCalendarDto.RoomTypeAvailability(e.getKey(), totals.get(e.getKey()), e.getValue()))
+                .toList();
+        return new AvailabilityCalendarDto(hotelId, from, to, roomTypes);
+    }
+
+    private Map<Long, long[]> occupiedNights(List<Room> rooms, LocalDate from, LocalDate to, int days) {
+        Map<Long, long[]> occupied = new HashMap<>();
+        if (availabilityIndex.isReady()) {
+            rooms.forEach(room -> occupied.put(room.id, availabilityIndex.occupiedNights(room.id, from, days)));
+            return occupied;
+        }
+        if (rooms.isEmpty()) {
+            return occupied;
+        }
+        Map<Long, DayBitSet> byRoom = new HashMap<>();
+        for (Reservation stay : reservationRepository.findActiveStays(rooms.stream().map(r -> r.id).toList(), from, to)) {
+            byRoom.computeIfAbsent(stay.room.id, id -> new DayBitSet()).set(stay.checkInDate, stay.checkOutDate);
+        }
+        for (Room room : rooms) {
+            DayBitSet nights = byRoom.get(room.id);
+            occupied.put(room.id, nights != null ? nights.window(from, days) : new long[DayBitSet.wordsFor(days)]);
+        }
+        return occupied;
+    }
+
+    public Room findById(Long id) {
+        return cacheConfig.getOrLoad(Constants.CACHE_PREFIX_ROOM + id, Room.class, 600, () -> {
+            Room room = roomRepository.findById(id);
+            if (room == null) {
+                throw new NotFoundException("Room not found with id: " + id);
+            }
+            return room;
+        });
     }
 
     @Transactional
@@ -67,6 +323,7 @@ public class RoomService {
             throw new NotFoundException("Hotel not found for the specified room");
         }
         roomRepository.persist(room);
+        availabilityCacheIndex.evictHotelAfterCommit(room.hotel.id);
         LOG.infof("Room created: id=%d, roomNumber=%s", room.id, room.roomNumber);
         return room;
     }
@@ -87,7 +344,8 @@ public class RoomService {
         existing.floorNumber = room.floorNumber;
 
         roomRepository.persist(existing);
-        cacheConfig.delete(Constants.CACHE_PREFIX_ROOM + id);
+        cacheConfig.deleteAllAfterCommit(List.of(Constants.CACHE_PREFIX_ROOM + id));
+        availabilityCacheIndex.evictHotelAfterCommit(existing.hotel.id);
         LOG.infof("Room updated: id=%d", id);
         return existing;
     }
@@ -101,7 +359,8 @@ public class RoomService {
 
         room.isAvailable = available;
         roomRepository.persist(room);
-        cacheConfig.delete(Constants.CACHE_PREFIX_ROOM + id);
+        cacheConfig.deleteAllAfterCommit(List.of(Constants.CACHE_PREFIX_ROOM + id));
+        availabilityCacheIndex.evictHotelAfterCommit(room.hotel.id);
         LOG.infof("Room availability updated: id=%d, available=%s", id, available);
         return room;
     }
@@ -0,0 +1,264 @@
+package com.hotel.reservations.services;
+
+import com.hotel.reservations.backends.WeatherApiClient;
+import com.hotel.reservations.backends.WeatherApiResponse;
+import com.hotel.reservations.backends.WeatherCodeMapper;
+import com.hotel.reservations.domain.dto.WeatherDto;
+import com.hotel.reservations.infrastructure.config.CacheConfig;
+import com.hotel.reservations.infrastructure.config.HotelConfig;
+import com.hotel.reservations.utils.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.rest.client.inject.RestClient;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent forecast requests for the same coordinates into a single
+ * Open-Meteo call.
+ * <p>
+ * The first request for a location opens a batch that collects dates for
+ * {@code hotel.weather.batch.window-ms}. The batch is then fetched as one date
+ * range (optionally extended by {@code hotel.weather.batch.prefetch-days}). Prefetched
+ * days are written to the cache under their own {@code weather:lat:lon:date} keys.
+ * <p>
+ * Upstream calls run on their own pool of {@code hotel.weather.batch.fetch-threads}
+ * threads with a queue of {@code hotel.weather.batch.fetch-queue-capacity} batches, so
+ * slow calls never hold up the timer that closes batches. Dates beyond the forecast
+ * horizon are failed on their own and never sent upstream, so they cannot fail the
+ * other dates of their batch.
+ */
+@ApplicationScoped
+public class WeatherForecastBatcher {
+
+    private static final Logger LOG = Logger.getLogger(WeatherForecastBatcher.class);
+    private static final String DAILY_PARAMS = "temperature_2m_max,temperature_2m_min,wind_speed_10m_max,weather_code";
+    // Open-Meteo serves forecasts up to 16 days ahead, today included
+    private static final int FORECAST_HORIZON_DAYS = 15;
+
+    @Inject
+    @RestClient
+    WeatherApiClient weatherApiClient;
+
+    @Inject
+    CacheConfig cacheConfig;
+
+    @Inject
+    HotelConfig hotelConfig;
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "hotel.weather.batch.window-ms")
+    long windowMillis;
+
+    @ConfigProperty(name = "hotel.weather.batch.prefetch-days")
+    int prefetchDays;
+
+    @ConfigProperty(name = "hotel.weather.batch.fetch-threads")
+    int fetchThreads;
+
+    @ConfigProperty(name = "hotel.weather.batch.fetch-queue-capacity")
+    int fetchQueueCapacity;
+
+    private final Map<String, Batch> openBatches = new ConcurrentHashMap<>();
+
+    // Resolved once per outcome so upstream calls skip the registry lookup
+    private final Map<String, Timer> apiTimers = new ConcurrentHashMap<>();
+
+    private Counter apiErrors;
+
+    private ScheduledExecutorService scheduler;
+
+    private ExecutorService fetchExecutor;
+
+    @PostConstruct
+    void init() {
+        apiErrors = Counter.builder("hotel.weather.api.errors")
+                .description("Failed Open-Meteo forecast calls, for the error rate against hotel.weather.api.requests")
+                .register(meterRegistry);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "weather-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        fetchExecutor = new ThreadPoolExecutor(fetchThreads, fetchThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fetchQueueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "weather-fetch");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        fetchExecutor.shutdownNow();
+    }
+
+    public static String cacheKey(double latitude, double longitude, LocalDate date) {
+        return Constants.CACHE_PREFIX_WEATHER + latitude + ":" + longitude + ":" + date;
+    }
+
+    /**
+     * Returns the forecast for one day, sharing the upstream call with every other
+     * request for the same coordinates that arrives within the batching window.
+     */
+    public CompletableFuture<WeatherDto> fetch(double latitude, double longitude, LocalDate date) {
+        String location = latitude + ":" + longitude;
+        while (true) {
+            Batch batch = openBatches.computeIfAbsent(location, key -> {
+                Batch created = new Batch(latitude, longitude);
+                scheduler.schedule(() -> flush(key, created), windowMillis, TimeUnit.MILLISECONDS);
+                return created;
+            });
+            synchronized (batch) {
+                if (!batch.closed) {
+                    batch.dates.add(date);
+                    return batch.result.thenApply(days -> {
+                        WeatherDto weather = days.get(date);
+                        if (weather == null) {
+                            throw new IllegalStateException(isBeyondHorizon(date)
+                                    ? "No forecast available for " + date + ", more than "
+                                            + FORECAST_HORIZON_DAYS + " days ahead"
+                                    : "No forecast returned for " + date);
+                        }
+                        return weather;
+                    });
+                }
+            }
+        }
+    }
+
+    private void flush(String location, Batch batch) {
+        synchronized (batch) {
+            batch.closed = true;
+            openBatches.remove(location, batch);
+        }
+        if (batch.dates.isEmpty()) {
+            return;
+        }
+        try {
+            fetchExecutor.execute(() -> fetchBatch(batch));
+        } catch (RejectedExecutionException e) {
+            batch.result.completeExceptionally(new IllegalStateException("Too many pending weather forecast requests"));
+        }
+    }
+
+    private void fetchBatch(Batch batch) {
+        try {
+            LocalDate horizon = LocalDate.now().plusDays(FORECAST_HORIZON_DAYS);
+            // Dates beyond the horizon are failed by fetch() when their forecast is missing
+            NavigableSet<LocalDate> inHorizon = batch.dates.headSet(horizon, true);
+            if (inHorizon.isEmpty()) {
+                batch.result.complete(Map.of());
+                return;
+            }
+            LocalDate from = inHorizon.first();
+            LocalDate to = inHorizon.last().plusDays(prefetchDays);
+            if (to.isAfter(horizon)) {
+                to = horizon;
+            }
+
+            LOG.infof("Fetching weather forecast for lat=%f, lon=%f, from=%s, to=%s (%d dates requested)",
+                    batch.latitude, batch.longitude, from, to, batch.dates.size());
+            WeatherApiResponse response = callForecastApi(batch, from, to);
+
+            batch.result.complete(fanOut(batch, response.getDaily()));
+        } catch (Exception e) {
+            batch.result.completeExceptionally(e);
+        }
+    }
+
+    private static boolean isBeyondHorizon(LocalDate date) {
+        return date.isAfter(LocalDate.now().plusDays(FORECAST_HORIZON_DAYS));
+    }
+
+    private WeatherApiResponse callForecastApi(Batch batch, LocalDate from, LocalDate to) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return weatherApiClient.getForecast(
+                    batch.latitude, batch.longitude, DAILY_PARAMS, "auto", from.toString(), to.toString());
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            apiErrors.increment();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            apiTimers.computeIfAbsent(outcome, key -> Timer.builder("hotel.weather.api.requests")
+                            .description("Latency and outcome of Open-Meteo forecast calls")
+                            .tag("outcome", key)
+                            .register(meterRegistry))
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Map<LocalDate, WeatherDto> fanOut(Batch batch, WeatherApiResponse.Daily daily) {
+        long ttlSeconds = (long) hotelConfig.getCacheTtlMinutes() * 60;
+        Map<LocalDate, WeatherDto> days = new HashMap<>();
+        for (int i = 0; i < daily.getTime().size(); i++) {
+            LocalDate date = LocalDate.parse(daily.getTime().get(i));
+            WeatherDto weather = toWeatherDto(daily, i, date);
+            // Requested dates are cached by their callers through CacheConfig.getOrLoad
+            if (!batch.dates.contains(date)) {
+                cacheConfig.putObject(cacheKey(batch.latitude, batch.longitude, date), weather, ttlSeconds);
+            }
+            days.put(date, weather);
+        }
+        return Collections.unmodifiableMap(days);
+    }
+
+    private WeatherDto toWeatherDto(WeatherApiResponse.Daily daily, int index, LocalDate date) {
+        double tempMax = daily.getTemperatureMax().get(index);
+        double tempMin = daily.getTemperatureMin().get(index);
+        double avgTemp = (tempMax + tempMin) / 2.0;
+        double windSpeed = daily.getWindSpeedMax().get(index);
+        int weatherCode = daily.getWeatherCode().get(index);
+
+        String description = WeatherCodeMapper.getDescription(weatherCode);
+        boolean isSevere = WeatherCodeMapper.isSevereWeather(weatherCode);
+
+        boolean isSuitableForTravel = !isSevere
+                && windSpeed < hotelConfig.getMaxWindSpeed()
+                && avgTemp >= hotelConfig.getMinTemperature()
+                && avgTemp <= hotelConfig.getMaxTemperature();
+
+        return new WeatherDto(avgTemp, windSpeed, description, null, date, isSuitableForTravel);
+    }
+
+    private static final class Batch {
+
+        private final double latitude;
+        private final double longitude;
+        private final NavigableSet<LocalDate> dates = new TreeSet<>();
+        private final CompletableFuture<Map<LocalDate, WeatherDto>> result = new CompletableFuture<>();
+        private boolean closed;
+
+        private Batch(double latitude, double longitude) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+}
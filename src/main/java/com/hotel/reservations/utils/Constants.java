@@ -1,5 +1,8 @@
 package com.hotel.reservations.utils;
 
+import java.util.List;
+import java.util.Set;
+
 public final class Constants {
 
     private Constants() {
@@ -8,10 +11,36 @@ public final class Constants {
     public static final String CACHE_PREFIX_HOTEL = "hotel:";
     public static final String CACHE_PREFIX_ROOM = "room:";
     public static final String CACHE_PREFIX_RESERVATION = "reservation:";
+    public static final String CACHE_PREFIX_RESERVATION_CODE = "reservation:code:";
     public static final String CACHE_PREFIX_AVAILABILITY = "availability:";
+    public static final String CACHE_PREFIX_AVAILABILITY_INDEX = "availability-index:";
+    public static final String CACHE_PREFIX_WEATHER = "weather:";
+    public static final String CACHE_PREFIX_NAMESPACE_VERSION = "cache:ns:";
+
+    // Versioned namespace of every cached hotel list page, offset and cursor alike
+    public static final String CACHE_NAMESPACE_HOTEL_LIST = CACHE_PREFIX_HOTEL + "list:";
+
+    // Key prefixes reported in cache metrics, most specific first
+    public static final List<String> CACHE_METRIC_PREFIXES = List.of(
+            CACHE_PREFIX_RESERVATION_CODE, CACHE_PREFIX_RESERVATION, CACHE_NAMESPACE_HOTEL_LIST, CACHE_PREFIX_HOTEL,
+            CACHE_PREFIX_ROOM, CACHE_PREFIX_AVAILABILITY, CACHE_PREFIX_WEATHER);
+
+    // Prefixes served stale-while-revalidate; all other keys expire hard at their TTL
+    public static final Set<String> CACHE_REFRESH_AHEAD_PREFIXES = Set.of(
+            CACHE_PREFIX_HOTEL, CACHE_PREFIX_ROOM, CACHE_PREFIX_WEATHER);
+    // How long past its TTL a refresh-ahead entry may still be served, as a fraction of the TTL
+    public static final double CACHE_STALE_GRACE_RATIO = 0.5;
+    // XFetch beta: values above 1 favour earlier refreshes
+    public static final double CACHE_EARLY_REFRESH_BETA = 1.0;
 
     public static final int DEFAULT_PAGE_SIZE = 20;
     public static final int MAX_PAGE_SIZE = 100;
+    public static final String HEADER_NEXT_CURSOR = "X-Next-Cursor";
 
     public static final String CONFIRMATION_CODE_PREFIX = "HTL-";
+
+    public static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    public static final String MEDIA_TYPE_CSV = "text/csv";
+    // Row errors beyond this are counted but not listed in an import result
+    public static final int IMPORT_MAX_REPORTED_ERRORS = 1000;
 }
@@ -0,0 +1,46 @@
+package com.hotel.reservations.utils;
+
+import jakarta.ws.rs.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the position of a keyset page as an opaque cursor token. The token
+ * carries the id of the last row returned; clients pass it back unchanged as
+ * {@code after} to fetch the next page.
+ */
+public final class CursorCodec {
+
+    private static final String VERSION_PREFIX = "v1:";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((VERSION_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id to continue after, or 0 for the first page when {@code cursor} is null or blank.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(VERSION_PREFIX)) {
+                throw new IllegalArgumentException("Unsupported cursor version");
+            }
+            long lastId = Long.parseLong(decoded.substring(VERSION_PREFIX.length()));
+            if (lastId < 0) {
+                throw new IllegalArgumentException("Negative cursor id");
+            }
+            return lastId;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid pagination cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.hotel.reservations.utils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Growable bitset of calendar days, one bit per night, packed into a {@code long[]}.
+ * Bit {@code i} stands for the night starting {@code i} days after the base date,
+ * which is the first date ever set and moves back if an earlier date is set later.
+ * Not thread-safe.
+ */
+public class DayBitSet {
+
+    private long baseEpochDay;
+    private long[] words = new long[0];
+
+    /**
+     * Sets the nights of {@code [from, to)}.
+     */
+    public void set(LocalDate from, LocalDate to) {
+        long start = from.toEpochDay();
+        long end = to.toEpochDay();
+        if (end <= start) {
+            return;
+        }
+        ensureRange(start, end);
+        for (long day = start; day < end; day++) {
+            int bit = (int) (day - baseEpochDay);
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Clears the nights of {@code [from, to)}.
+     */
+    public void clear(LocalDate from, LocalDate to) {
+        long start = Math.max(from.toEpochDay(), baseEpochDay);
+        long end = Math.min(to.toEpochDay(), baseEpochDay + (long) words.length * Long.SIZE);
+        for (long day = start; day < end; day++) {
+            int bit = (int) (day - baseEpochDay);
+            words[bit >>> 6] &= ~(1L << bit);
+        }
+    }
+
+    /**
+     * Returns the {@code days} nights starting at {@code from} as a bitset whose bit
+     * {@code i} is the night of {@code from + i}.
+     */
+    public long[] window(LocalDate from, int days) {
+        long[] result = new long[wordsFor(days)];
+        long offset = from.toEpochDay() - baseEpochDay;
+        for (int i = 0; i < days; i++) {
+            long bit = offset + i;
+            if (bit >= 0 && bit < (long) words.length * Long.SIZE && (words[(int) (bit >>> 6)] & (1L << bit)) != 0) {
+                result[i >>> 6] |= 1L << i;
+            }
+        }
+        return result;
+    }
+
+    public static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public static int wordsFor(int days) {
+        return (days + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private void ensureRange(long start, long end) {
+        if (words.length == 0) {
+            baseEpochDay = start;
+        }
+        if (start < baseEpochDay) {
+            // Rebase on a word boundary so existing words can be copied unshifted
+            int shiftWords = wordsFor((int) (baseEpochDay - start));
+            long[] grown = new long[words.length + shiftWords];
+            System.arraycopy(words, 0, grown, shiftWords, words.length);
+            words = grown;
+            baseEpochDay -= (long) shiftWords * Long.SIZE;
+        }
+        int needed = wordsFor((int) (end - baseEpochDay));
+        if (needed > words.length) {
+            words = Arrays.copyOf(words, Math.max(needed, words.length * 2));
+        }
+    }
+}
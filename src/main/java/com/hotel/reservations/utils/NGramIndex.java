@@ -0,0 +1,196 @@
+package com.hotel.reservations.utils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index of character trigrams for ranked, typo-tolerant
+ * name lookups.
+ * <p>
+ * Text is lower-cased, stripped of accents and split into words. Every word is
+ * indexed under the trigrams of the word with a leading start marker, plus the
+ * marker and its first letter, so one- and two-letter prefixes can be looked up
+ * as well. A query word matches a document word exactly, as a prefix, or by trigram
+ * similarity; documents are ranked by the average best match of the query words.
+ */
+public class NGramIndex {
+
+    private static final int N = 3;
+    private static final char START = '$';
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final double EXACT_SCORE = 2.0;
+    private static final double PREFIX_SCORE = 1.5;
+
+    private final double minSimilarity;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+
+    public NGramIndex(double minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+
+    /**
+     * Indexes (or re-indexes) the document {@code id} under the words of {@code texts}.
+     */
+    public void put(long id, String... texts) {
+        String[] words = words(String.join(" ", Arrays.stream(texts).map(t -> t == null ? "" : t).toList()));
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            documents.put(id, words);
+            for (String word : words) {
+                for (String gram : grams(word, true)) {
+                    postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of at most {@code limit} documents matching {@code query}, best match first.
+     */
+    public List<Long> search(String query, int limit) {
+        String[] queryWords = words(query);
+        if (queryWords.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        List<Set<String>> queryGrams = new ArrayList<>(queryWords.length);
+        for (String word : queryWords) {
+            queryGrams.add(grams(word, false));
+        }
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = new HashSet<>();
+            for (Set<String> grams : queryGrams) {
+                for (String gram : grams) {
+                    Set<Long> ids = postings.get(gram);
+                    if (ids != null) {
+                        candidates.addAll(ids);
+                    }
+                }
+            }
+            for (Long id : candidates) {
+                double score = score(queryWords, queryGrams, documents.get(id));
+                if (score >= minSimilarity) {
+                    matches.add(new Match(id, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .sorted(Comparator.comparingDouble(Match::score).reversed().thenComparing(Match::id))
+                .limit(limit)
+                .map(Match::id)
+                .toList();
+    }
+
+    private static double score(String[] queryWords, List<Set<String>> queryGrams, String[] documentWords) {
+        double total = 0;
+        for (int i = 0; i < queryWords.length; i++) {
+            double best = 0;
+            for (String word : documentWords) {
+                best = Math.max(best, wordScore(queryWords[i], queryGrams.get(i), word));
+            }
+            total += best;
+        }
+        return total / queryWords.length;
+    }
+
+    private static double wordScore(String queryWord, Set<String> queryGrams, String word) {
+        if (word.equals(queryWord)) {
+            return EXACT_SCORE;
+        }
+        if (word.startsWith(queryWord)) {
+            return PREFIX_SCORE;
+        }
+        // Dice coefficient over the trigrams of both words
+        Set<String> wordGrams = grams(word, false);
+        int shared = 0;
+        for (String gram : queryGrams) {
+            if (wordGrams.contains(gram)) {
+                shared++;
+            }
+        }
+        return 2.0 * shared / (queryGrams.size() + wordGrams.size());
+    }
+
+    private void removeLocked(long id) {
+        String[] words = documents.remove(id);
+        if (words == null) {
+            return;
+        }
+        for (String word : words) {
+            for (String gram : grams(word, true)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static Set<String> grams(String word, boolean withShortPrefix) {
+        String padded = START + word;
+        Set<String> grams = new LinkedHashSet<>();
+        if (withShortPrefix || padded.length() < N) {
+            grams.add(padded.substring(0, Math.min(2, padded.length())));
+        }
+        for (int i = 0; i + N <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + N));
+        }
+        return grams;
+    }
+
+    private static String[] words(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARATORS.split(normalized.toLowerCase(Locale.ROOT)))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private record Match(Long id, double score) {
+    }
+}
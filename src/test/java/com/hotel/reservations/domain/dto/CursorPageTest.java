@@ -0,0 +1,38 @@
+package com.hotel.reservations.domain.dto;
+
+import com.hotel.reservations.utils.Constants;
+import com.hotel.reservations.utils.CursorCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CursorPageTest {
+
+    @Test
+    void pointsTheNextCursorAtTheLastReturnedRow() {
+        CursorPage<Long> page = CursorPage.of(List.of(3L, 5L, 8L), 2, Function.identity());
+
+        assertEquals(List.of(3L, 5L), page.items());
+        assertEquals(5L, CursorCodec.decode(page.nextCursor()));
+    }
+
+    @Test
+    void endsWithoutCursorWhenNoExtraRowWasFetched() {
+        CursorPage<Long> page = CursorPage.of(List.of(3L, 5L), 2, Function.identity());
+
+        assertEquals(List.of(3L, 5L), page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void clampsRequestedSizes() {
+        assertEquals(1, CursorPage.clampSize(0));
+        assertEquals(1, CursorPage.clampSize(-10));
+        assertEquals(25, CursorPage.clampSize(25));
+        assertEquals(Constants.MAX_PAGE_SIZE, CursorPage.clampSize(Constants.MAX_PAGE_SIZE + 1));
+    }
+}
@@ -0,0 +1,95 @@
+package com.hotel.reservations.infrastructure.cache;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.hotel.reservations.domain.dto.WeatherDto;
+import com.hotel.reservations.domain.entities.Hotel;
+import com.hotel.reservations.domain.entities.Room;
+import com.hotel.reservations.domain.enums.RoomType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class CacheCodecTest {
+
+    static List<CacheCodec> codecs() {
+        // Mirrors the plain ObjectMapper and defaults produced by Quarkus
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        JsonCacheCodec json = new JsonCacheCodec();
+        json.objectMapper = objectMapper;
+        CborCacheCodec cbor = new CborCacheCodec();
+        cbor.objectMapper = objectMapper;
+        cbor.init();
+        return List.of(json, cbor);
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void roundTripsRecords(CacheCodec codec) throws Exception {
+        WeatherDto weather = new WeatherDto(21.5, 12.25, "Partly cloudy", "Lisbon", LocalDate.of(2026, 7, 14), true);
+
+        byte[] encoded = codec.encode(weather);
+
+        assertEquals(weather, codec.decode(encoded, 0, encoded.length, WeatherDto.class));
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void roundTripsEntityArrays(CacheCodec codec) throws Exception {
+        Hotel hotel = new Hotel();
+        hotel.id = 7L;
+        hotel.name = "Harbour View";
+        hotel.city = "Porto";
+        Room room = new Room();
+        room.id = 42L;
+        room.roomNumber = "305";
+        room.roomType = RoomType.SUITE;
+        room.pricePerNight = new BigDecimal("249.90");
+        room.maxOccupancy = 3;
+        room.isAvailable = true;
+        room.hotel = hotel;
+
+        byte[] encoded = codec.encode(new Room[]{room});
+        Room[] decoded = codec.decode(encoded, 0, encoded.length, Room[].class);
+
+        assertEquals(1, decoded.length);
+        assertEquals(room.id, decoded[0].id);
+        assertEquals(room.roomNumber, decoded[0].roomNumber);
+        assertEquals(room.roomType, decoded[0].roomType);
+        assertEquals(room.pricePerNight, decoded[0].pricePerNight);
+        assertEquals(room.maxOccupancy, decoded[0].maxOccupancy);
+        assertEquals(hotel.id, decoded[0].hotel.id);
+        assertEquals(hotel.name, decoded[0].hotel.name);
+    }
+
+    @ParameterizedTest
+    @MethodSource("codecs")
+    void decodesFromAnOffset(CacheCodec codec) throws Exception {
+        byte[] encoded = codec.encode("availability");
+        byte[] framed = new byte[encoded.length + 5];
+        System.arraycopy(encoded, 0, framed, 3, encoded.length);
+
+        assertEquals("availability", codec.decode(framed, 3, encoded.length, String.class));
+        assertArrayEquals(encoded, Arrays.copyOfRange(framed, 3, 3 + encoded.length));
+    }
+
+    @Test
+    void codecsHaveDistinctIds() {
+        List<CacheCodec> codecs = codecs();
+        assertNotEquals(codecs.get(0).id(), codecs.get(1).id());
+        assertNotEquals(codecs.get(0).name(), codecs.get(1).name());
+    }
+}
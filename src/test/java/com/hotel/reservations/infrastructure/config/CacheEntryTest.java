@@ -0,0 +1,74 @@
+package com.hotel.reservations.infrastructure.config;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.hotel.reservations.infrastructure.cache.CacheCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CacheEntryTest {
+
+    private static final int HEADER_LENGTH = 1 + Long.BYTES + Integer.BYTES;
+
+    private final CacheCodec json = new TestCodec((byte) 1);
+    private final CacheCodec other = new TestCodec((byte) 2);
+
+    @Test
+    void writesCodecIdSoftExpiryAndLoadTimeAheadOfTheValue() throws Exception {
+        byte[] payload = CacheConfig.encodeEntry(json, "room:42", 1_700_000_000_123L, 85);
+
+        ByteBuffer header = ByteBuffer.wrap(payload);
+        assertEquals(1, header.get());
+        assertEquals(1_700_000_000_123L, header.getLong());
+        assertEquals(85, header.getInt());
+        byte[] value = json.encode("room:42");
+        assertEquals(HEADER_LENGTH + value.length, payload.length);
+        assertEquals(ByteBuffer.wrap(value), ByteBuffer.wrap(payload, HEADER_LENGTH, value.length));
+    }
+
+    @Test
+    void roundTripsValueAndHeader() {
+        byte[] payload = CacheConfig.encodeEntry(json, 12.5, 1_700_000_000_000L, 7);
+
+        CacheConfig.CachedValue entry = CacheConfig.decodeEntry(json, payload, Double.class);
+
+        assertEquals(12.5, entry.value());
+        assertEquals(1_700_000_000_000L, entry.softExpiresAtMillis());
+        assertEquals(7, entry.loadMillis());
+    }
+
+    @Test
+    void recognizesOnlyCompleteEntriesOfItsOwnCodec() {
+        byte[] payload = CacheConfig.encodeEntry(json, "value", 0, 0);
+
+        assertTrue(CacheConfig.isEncodedBy(json, payload));
+        assertFalse(CacheConfig.isEncodedBy(other, payload));
+        assertFalse(CacheConfig.isEncodedBy(json, Arrays.copyOf(payload, HEADER_LENGTH - 1)));
+        assertFalse(CacheConfig.isEncodedBy(json, null));
+    }
+
+    private record TestCodec(byte id) implements CacheCodec {
+
+        private static final JsonMapper MAPPER = new JsonMapper();
+
+        @Override
+        public String name() {
+            return "test-" + id;
+        }
+
+        @Override
+        public byte[] encode(Object value) throws Exception {
+            return MAPPER.writeValueAsBytes(value);
+        }
+
+        @Override
+        public <T> T decode(byte[] data, int offset, int length, Class<T> type) throws Exception {
+            return MAPPER.readValue(data, offset, length, type);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.hotel.reservations.resources;
+
+import com.hotel.reservations.domain.entities.Guest;
+import com.hotel.reservations.domain.entities.Hotel;
+import com.hotel.reservations.domain.entities.Reservation;
+import com.hotel.reservations.domain.entities.Room;
+import com.hotel.reservations.domain.enums.PaymentStatus;
+import com.hotel.reservations.domain.enums.ReservationStatus;
+import com.hotel.reservations.domain.enums.RoomType;
+import com.hotel.reservations.repository.GuestRepository;
+import com.hotel.reservations.repository.HotelRepository;
+import com.hotel.reservations.repository.ReservationRepository;
+import com.hotel.reservations.repository.RoomRepository;
+import com.hotel.reservations.utils.ConfirmationCodeGenerator;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the SQL statements behind the list endpoints, whose DTOs dereference lazy
+ * associations, so an N+1 regression fails here instead of in production.
+ * <p>
+ * Runs against the SQL Server and Redis of {@code docker/docker-compose.yml}, with
+ * Hibernate statistics enabled by the test profile.
+ */
+@QuarkusTest
+class ListQueryStatementCountTest {
+
+    private static final int HOTELS = 2;
+    private static final int ROOMS_PER_HOTEL = 3;
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    @Inject
+    HotelRepository hotelRepository;
+
+    @Inject
+    RoomRepository roomRepository;
+
+    @Inject
+    GuestRepository guestRepository;
+
+    @Inject
+    ReservationRepository reservationRepository;
+
+    private Long guestId;
+    private Long hotelId;
+
+    @BeforeEach
+    void seed() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            Guest guest = new Guest();
+            guest.firstName = "Statement";
+            guest.lastName = "Counter";
+            guest.email = "counter-" + UUID.randomUUID() + "@example.com";
+            guestRepository.persist(guest);
+            guestId = guest.id;
+
+            List<Room> rooms = new ArrayList<>();
+            for (int h = 0; h < HOTELS; h++) {
+                Hotel hotel = new Hotel();
+                hotel.name = "Statement Count Hotel " + UUID.randomUUID();
+                hotel.address = h + " Test Street";
+                hotel.city = "Lisbon";
+                hotel.country = "Portugal";
+                hotelRepository.persist(hotel);
+                hotelId = hotel.id;
+                for (int r = 0; r < ROOMS_PER_HOTEL; r++) {
+                    Room room = new Room();
+                    room.roomNumber = String.valueOf(100 + r);
+                    room.roomType = RoomType.DOUBLE;
+                    room.pricePerNight = new BigDecimal("100.00");
+                    room.maxOccupancy = 2;
+                    room.isAvailable = true;
+                    room.hotel = hotel;
+                    roomRepository.persist(room);
+                    rooms.add(room);
+                }
+            }
+
+            LocalDate checkIn = LocalDate.now().plusDays(60);
+            for (Room room : rooms) {
+                Reservation reservation = new Reservation();
+                reservation.confirmationCode = ConfirmationCodeGenerator.generate();
+                reservation.checkInDate = checkIn;
+                reservation.checkOutDate = checkIn.plusDays(2);
+                reservation.numberOfGuests = 1;
+                reservation.totalPrice = new BigDecimal("200.00");
+                reservation.status = ReservationStatus.PENDING;
+                reservation.paymentStatus = PaymentStatus.PENDING;
+                reservation.guest = guestRepository.findById(guestId);
+                reservation.room = room;
+                reservationRepository.persist(reservation);
+            }
+        });
+    }
+
+    @Test
+    void guestReservationListRunsOneStatement() {
+        Statistics statistics = resetStatistics();
+
+        given().when().get("/api/v1/reservations/guest/{guestId}", guestId)
+                .then().statusCode(200)
+                .body("data", hasSize(HOTELS * ROOMS_PER_HOTEL));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+
+    @Test
+    void guestReservationPageRunsOneStatement() {
+        Statistics statistics = resetStatistics();
+
+        given().queryParam("size", 4)
+                .when().get("/api/v1/reservations/guest/{guestId}", guestId)
+                .then().statusCode(200)
+                .body("data", hasSize(4));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+
+    @Test
+    void hotelRoomListRunsOneStatement() {
+        Statistics statistics = resetStatistics();
+
+        given().when().get("/api/v1/rooms/hotel/{hotelId}", hotelId)
+                .then().statusCode(200)
+                .body("data", hasSize(ROOMS_PER_HOTEL));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+
+    private Statistics resetStatistics() {
+        Statistics statistics = sessionFactory.getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,133 @@
+package com.hotel.reservations.services;
+
+import com.hotel.reservations.domain.dto.CreateReservationRequest;
+import com.hotel.reservations.domain.dto.WeatherDto;
+import com.hotel.reservations.domain.entities.Guest;
+import com.hotel.reservations.domain.entities.Hotel;
+import com.hotel.reservations.domain.entities.Reservation;
+import com.hotel.reservations.domain.entities.Room;
+import com.hotel.reservations.domain.enums.RoomType;
+import com.hotel.reservations.infrastructure.exceptions.RoomNotAvailableException;
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Fires concurrent, pairwise overlapping bookings at a single room and checks that
+ * exactly one of them is accepted.
+ * <p>
+ * Runs against the SQL Server and Redis of {@code docker/docker-compose.yml}, like the
+ * application itself. The weather lookup is stubbed so the outcome only depends on
+ * the booking path.
+ */
+@QuarkusTest
+class BookingEngineConcurrencyTest {
+
+    private static final int ATTEMPTS = 24;
+
+    @Inject
+    ReservationService reservationService;
+
+    @Inject
+    HotelService hotelService;
+
+    @Inject
+    RoomService roomService;
+
+    @Inject
+    GuestService guestService;
+
+    @BeforeEach
+    void stubWeather() {
+        QuarkusMock.installMockForType(new WeatherService() {
+            @Override
+            public WeatherDto checkWeather(double latitude, double longitude, LocalDate checkInDate) {
+                return new WeatherDto(22.0, 5.0, "Clear sky", "Test", checkInDate, true);
+            }
+        }, WeatherService.class);
+    }
+
+    @Test
+    void overlappingBookingsOfOneRoomAcceptExactlyOne() throws Exception {
+        Room room = createRoom();
+        Guest guest = createGuest();
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+
+        ExecutorService pool = Executors.newFixedThreadPool(ATTEMPTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Reservation>> attempts = new ArrayList<>(ATTEMPTS);
+        try {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                // Stays start up to two nights apart and last three, so every pair overlaps
+                int offset = i % 3;
+                CreateReservationRequest request = new CreateReservationRequest(guest.id, room.id,
+                        checkIn.plusDays(offset), checkIn.plusDays(3 + offset), 1, null);
+                attempts.add(pool.submit(() -> {
+                    start.await();
+                    return reservationService.createReservation(request);
+                }));
+            }
+            start.countDown();
+
+            int accepted = 0;
+            for (Future<Reservation> attempt : attempts) {
+                try {
+                    attempt.get(60, TimeUnit.SECONDS);
+                    accepted++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(RoomNotAvailableException.class, e.getCause());
+                }
+            }
+            assertEquals(1, accepted);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Room createRoom() {
+        Hotel hotel = new Hotel();
+        hotel.name = "Concurrency Test Hotel " + UUID.randomUUID();
+        hotel.address = "1 Test Street";
+        hotel.city = "Lisbon";
+        hotel.country = "Portugal";
+        hotel.starRating = 3;
+        hotel.latitude = 38.7223;
+        hotel.longitude = -9.1393;
+        hotelService.create(hotel);
+
+        Room room = new Room();
+        room.roomNumber = "101";
+        room.roomType = RoomType.DOUBLE;
+        room.pricePerNight = new BigDecimal("100.00");
+        room.maxOccupancy = 2;
+        room.isAvailable = true;
+        room.floorNumber = 1;
+        room.hotel = hotel;
+        return roomService.create(room);
+    }
+
+    private Guest createGuest() {
+        Guest guest = new Guest();
+        guest.firstName = "Concurrent";
+        guest.lastName = "Booker";
+        guest.email = "booker-" + UUID.randomUUID() + "@example.com";
+        return guestService.create(guest);
+    }
+}
@@ -0,0 +1,130 @@
+package com.hotel.reservations.services;
+
+import com.hotel.reservations.domain.entities.Hotel;
+import com.hotel.reservations.repository.HotelRepository;
+import com.hotel.reservations.utils.GeoUtils;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotelGeoIndexTest {
+
+    private static final double CELL_SIZE_DEGREES = 0.25;
+
+    /**
+     * A hotel exactly on the search radius is found, and one just beyond it is not,
+     * whichever cell of the grid the boundary falls in.
+     */
+    @ParameterizedTest
+    @CsvSource({
+            "0.0, 0.0, 1.0, 0.0",
+            "0.0, 0.0, -1.0, 0.0",
+            "0.0, 0.0, 0.0, 1.0",
+            "38.7223, -9.1393, 40.4168, -3.7038",
+            "60.0, 10.0, 60.0, 12.0",
+            "60.0, 10.0, 61.5, 10.0",
+            "-33.87, 151.21, -34.5, 150.0",
+            "0.0, 179.9, 0.0, -179.6",
+            "89.5, 0.0, 89.5, 180.0",
+    })
+    void includesHotelsOnTheRadiusAndExcludesThoseBeyond(double lat, double lon, double hotelLat, double hotelLon) {
+        HotelGeoIndex index = indexOf(hotel(1L, hotelLat, hotelLon));
+        double distance = GeoUtils.haversineKm(lat, lon, hotelLat, hotelLon);
+
+        List<HotelGeoIndex.NearbyHotel> onRadius = index.findWithin(lat, lon, distance, 10);
+        assertEquals(1, onRadius.size());
+        assertEquals(distance, onRadius.get(0).distanceKm(), 1e-9);
+
+        assertTrue(index.findWithin(lat, lon, distance - 0.001, 10).isEmpty());
+    }
+
+    @Test
+    void ordersByDistanceAndAppliesTheLimit() {
+        HotelGeoIndex index = indexOf(
+                hotel(1L, 38.80, -9.14),
+                hotel(2L, 38.73, -9.14),
+                hotel(3L, 38.76, -9.14),
+                hotel(4L, 41.15, -8.61));
+
+        List<HotelGeoIndex.NearbyHotel> nearby = index.findWithin(38.7223, -9.1393, 20, 2);
+
+        assertEquals(List.of(2L, 3L), nearby.stream().map(HotelGeoIndex.NearbyHotel::hotelId).toList());
+    }
+
+    @Test
+    void skipsHotelsWithoutValidCoordinates() {
+        HotelGeoIndex index = indexOf(hotel(1L, null, null), hotel(2L, 95.0, 0.0), hotel(3L, 0.0, 0.0));
+
+        List<HotelGeoIndex.NearbyHotel> nearby = index.findWithin(0, 0, 20_000, 10);
+
+        assertEquals(List.of(3L), nearby.stream().map(HotelGeoIndex.NearbyHotel::hotelId).toList());
+    }
+
+    private static HotelGeoIndex indexOf(Hotel... hotels) {
+        HotelGeoIndex index = new HotelGeoIndex();
+        index.cellSizeDegrees = CELL_SIZE_DEGREES;
+        index.transactionRegistry = new NoTransaction();
+        index.hotelRepository = new HotelRepository() {
+            @Override
+            public Stream<Hotel> streamAll() {
+                return Stream.of(hotels);
+            }
+        };
+        index.rebuild();
+        return index;
+    }
+
+    private static Hotel hotel(Long id, Double latitude, Double longitude) {
+        Hotel hotel = new Hotel();
+        hotel.id = id;
+        hotel.latitude = latitude;
+        hotel.longitude = longitude;
+        return hotel;
+    }
+
+    private static final class NoTransaction implements TransactionSynchronizationRegistry {
+
+        @Override
+        public Object getTransactionKey() {
+            return null;
+        }
+
+        @Override
+        public void putResource(Object key, Object value) {
+            throw new IllegalStateException("No transaction");
+        }
+
+        @Override
+        public Object getResource(Object key) {
+            throw new IllegalStateException("No transaction");
+        }
+
+        @Override
+        public void registerInterposedSynchronization(Synchronization sync) {
+            throw new IllegalStateException("No transaction");
+        }
+
+        @Override
+        public int getTransactionStatus() {
+            return jakarta.transaction.Status.STATUS_NO_TRANSACTION;
+        }
+
+        @Override
+        public void setRollbackOnly() {
+            throw new IllegalStateException("No transaction");
+        }
+
+        @Override
+        public boolean getRollbackOnly() {
+            throw new IllegalStateException("No transaction");
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.hotel.reservations.utils;
+
+import jakarta.ws.rs.BadRequestException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorCodecTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 42, 1_000_000_007L, Long.MAX_VALUE})
+    void roundTripsIds(long id) {
+        assertEquals(id, CursorCodec.decode(CursorCodec.encode(id)));
+    }
+
+    @Test
+    void encodesUrlSafeTokensWithoutPadding() {
+        String cursor = CursorCodec.encode(Long.MAX_VALUE);
+        assertFalse(cursor.contains("="));
+        assertFalse(cursor.contains("+"));
+        assertFalse(cursor.contains("/"));
+    }
+
+    @Test
+    void startsFromTheFirstPageWithoutCursor() {
+        assertEquals(0, CursorCodec.decode(null));
+        assertEquals(0, CursorCodec.decode(""));
+        assertEquals(0, CursorCodec.decode("   "));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"v2:42", "42", "v1:", "v1:abc", "v1:42x", "v1:-5", "v1:99999999999999999999"})
+    void rejectsTamperedPayloads(String payload) {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decode(cursor));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not a cursor", "djE6NDI=!", "%%%"})
+    void rejectsTokensThatAreNotBase64(String cursor) {
+        assertThrows(BadRequestException.class, () -> CursorCodec.decode(cursor));
+    }
+}
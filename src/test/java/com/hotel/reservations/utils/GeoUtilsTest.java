@@ -0,0 +1,42 @@
+package com.hotel.reservations.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoUtilsTest {
+
+    @Test
+    void measuresOneDegreeOfLatitudeAsOneDegreeLength() {
+        assertEquals(GeoUtils.KM_PER_DEGREE, GeoUtils.haversineKm(10, 20, 11, 20), 1e-9);
+        assertEquals(GeoUtils.KM_PER_DEGREE, GeoUtils.haversineKm(0, 0, 0, 1), 1e-9);
+    }
+
+    @Test
+    void measuresKnownCityDistances() {
+        // Lisbon to Madrid, roughly 503 km
+        assertEquals(503, GeoUtils.haversineKm(38.7223, -9.1393, 40.4168, -3.7038), 2);
+    }
+
+    @Test
+    void isSymmetricAndZeroForTheSamePoint() {
+        assertEquals(0, GeoUtils.haversineKm(51.5, -0.12, 51.5, -0.12));
+        assertEquals(GeoUtils.haversineKm(51.5, -0.12, 48.85, 2.35), GeoUtils.haversineKm(48.85, 2.35, 51.5, -0.12),
+                1e-9);
+    }
+
+    @Test
+    void measuresAcrossTheAntimeridian() {
+        assertEquals(2 * GeoUtils.KM_PER_DEGREE, GeoUtils.haversineKm(0, 179, 0, -179), 1e-6);
+    }
+
+    @Test
+    void acceptsCoordinatesUpToTheirBounds() {
+        assertTrue(GeoUtils.isValidCoordinate(90, 180));
+        assertTrue(GeoUtils.isValidCoordinate(-90, -180));
+        assertFalse(GeoUtils.isValidCoordinate(90.0001, 0));
+        assertFalse(GeoUtils.isValidCoordinate(0, -180.0001));
+    }
+}